@@ -0,0 +1,122 @@
+package ru.anr.base.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.support.GenericApplicationContext;
+import ru.anr.base.BaseSpringParent;
+import ru.anr.base.BeanRef;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cached bean and profile lookups of {@link BaseSpringParent} with direct calls
+ * of the application context and the environment. The context contains 100 singleton beans.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanLookupBenchmark {
+
+    /**
+     * A bean which exposes the lookups
+     */
+    public static class Lookups extends BaseSpringParent {
+
+        private final BeanRef<Service> ref = beanRef(Service.class);
+
+        boolean prodMode() {
+            return isProdMode();
+        }
+
+        Service byName() {
+            return bean("service50", Service.class);
+        }
+
+        Service byType() {
+            return bean(Service.class);
+        }
+
+        Service byRef() {
+            return ref.get();
+        }
+    }
+
+    /**
+     * The looked up bean
+     */
+    public static class Service {
+    }
+
+    private GenericApplicationContext ctx;
+
+    private Lookups lookups;
+
+    @Setup
+    public void setUp() {
+        ctx = new GenericApplicationContext();
+        ctx.getEnvironment().setActiveProfiles("production", "tests");
+        for (int i = 0; i < 100; i++) {
+            ctx.registerBean("bean" + i, StringBuilder.class);
+        }
+        ctx.registerBean("service50", Service.class);
+        ctx.registerBean("lookups", Lookups.class);
+        ctx.refresh();
+        lookups = ctx.getBean(Lookups.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public boolean profilesDirect() {
+        return Set.of(ctx.getEnvironment().getActiveProfiles()).contains(BaseSpringParent.PRODUCTION_PROFILE);
+    }
+
+    @Benchmark
+    public boolean profilesCached() {
+        return lookups.prodMode();
+    }
+
+    @Benchmark
+    public Service byNameDirect() {
+        return ctx.getBean("service50", Service.class);
+    }
+
+    @Benchmark
+    public Service byNameCached() {
+        return lookups.byName();
+    }
+
+    @Benchmark
+    public Service byTypeDirect() {
+        return ctx.getBean(Service.class);
+    }
+
+    @Benchmark
+    public Service byTypeCached() {
+        return lookups.byType();
+    }
+
+    @Benchmark
+    public Service beanRef() {
+        return lookups.byRef();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BeanLookupBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,98 @@
+package ru.anr.base.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.Environment;
+import ru.anr.base.BaseSpringParent;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to build and refresh a context with many beans (the time-to-ready of
+ * a service) and the allocation during the startup (with the 'gc' profiler). The 'style'
+ * parameter compares {@link BaseSpringParent} beans, which get the context via a callback,
+ * with beans autowiring the environment and the context into fields (as it was done before).
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContextStartupBenchmark {
+
+    /**
+     * A bean based on {@link BaseSpringParent}
+     */
+    public static class Service extends BaseSpringParent {
+
+        boolean ready() {
+            return isProdMode();
+        }
+    }
+
+    /**
+     * A bean with autowired fields
+     */
+    public static class AutowiredService {
+
+        @Autowired
+        private Environment env;
+
+        @Autowired
+        private ApplicationContext ctx;
+
+        boolean ready() {
+            return ctx != null && BaseSpringParent.set(env.getActiveProfiles()).contains("production");
+        }
+    }
+
+    @Param({"100", "1000"})
+    private int beans;
+
+    @Param({"parent", "autowired"})
+    private String style;
+
+    @Benchmark
+    public int startup() {
+
+        GenericApplicationContext ctx = new GenericApplicationContext();
+        AnnotationConfigUtils.registerAnnotationConfigProcessors(ctx);
+        ctx.getEnvironment().setActiveProfiles("production");
+
+        boolean parent = "parent".equals(style);
+        Class<?> type = parent ? Service.class : AutowiredService.class;
+        for (int i = 0; i < beans; i++) {
+            ctx.registerBean("bean" + i, type);
+        }
+        ctx.refresh();
+        try {
+            int ready = 0;
+            for (int i = 0; i < beans; i++) {
+                Object b = ctx.getBean("bean" + i);
+                if (parent ? ((Service) b).ready() : ((AutowiredService) b).ready()) {
+                    ready++;
+                }
+            }
+            return ready;
+        } finally {
+            ctx.close();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ContextStartupBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
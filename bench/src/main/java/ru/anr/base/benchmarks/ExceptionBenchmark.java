@@ -0,0 +1,73 @@
+package ru.anr.base.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.anr.base.ApplicationException;
+import ru.anr.base.StacklessApplicationException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares the cost of throwing and catching {@link ApplicationException}, a new
+ * {@link StacklessApplicationException} and a cached one at the given depth of the stack.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionBenchmark {
+
+    @Param({"10", "100"})
+    private int depth;
+
+    private static final Supplier<RuntimeException> FULL = () -> new ApplicationException("Invalid value");
+    private static final Supplier<RuntimeException> STACKLESS =
+            () -> new StacklessApplicationException("Invalid value", "validation.failed");
+    private static final Supplier<RuntimeException> CACHED =
+            () -> StacklessApplicationException.cached("validation.failed", "Invalid value");
+
+    private static int call(int depth, Supplier<RuntimeException> error) {
+        if (depth == 0) {
+            throw error.get();
+        }
+        return call(depth - 1, error) + 1;
+    }
+
+    private Object run(Supplier<RuntimeException> error) {
+        try {
+            return call(depth, error);
+        } catch (ApplicationException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    public Object fullStack() {
+        return run(FULL);
+    }
+
+    @Benchmark
+    public Object stackless() {
+        return run(STACKLESS);
+    }
+
+    @Benchmark
+    public Object cached() {
+        return run(CACHED);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ExceptionBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
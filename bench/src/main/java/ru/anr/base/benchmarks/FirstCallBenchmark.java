@@ -0,0 +1,126 @@
+package ru.anr.base.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.anr.base.BaseParent;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures the startup cost of helpers of {@link BaseParent}: the time of the first call
+ * in a fresh class loader (loading, linking and initialization of all the classes which the call
+ * needs, interpreted code). The number of classes loaded from the class path for each call
+ * is printed by {@link #main(String[])} before the benchmark is run.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 15)
+@Fork(1)
+public class FirstCallBenchmark {
+
+    /**
+     * A class loader which does not delegate to the application class loader and counts
+     * the classes it has loaded
+     */
+    static final class CountingLoader extends URLClassLoader {
+
+        private int loaded;
+
+        CountingLoader() {
+            super(classPath(), ClassLoader.getPlatformClassLoader());
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            Class<?> c = super.findClass(name);
+            loaded++;
+            return c;
+        }
+    }
+
+    /**
+     * Makes the call. It is loaded by {@link CountingLoader}, so the helpers are linked as
+     * in a usual application.
+     */
+    public static final class Call implements Function<String, Object> {
+
+        @Override
+        public Object apply(String call) {
+            switch (call) {
+                case "list":
+                    return BaseParent.list(1, 2, 3);
+                case "now":
+                    return BaseParent.now();
+                case "sha256":
+                    return BaseParent.sha256("value");
+                default:
+                    return BaseParent.xpath("<a b='1'/>", "//@b");
+            }
+        }
+    }
+
+    @Param({"list", "now", "sha256", "xpath"})
+    private String call;
+
+    private CountingLoader loader;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        loader = new CountingLoader();
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() throws IOException {
+        loader.close();
+    }
+
+    @Benchmark
+    public Object firstCall() throws ReflectiveOperationException {
+        return firstCall(loader, call);
+    }
+
+    @SuppressWarnings("unchecked")
+    static Object firstCall(ClassLoader loader, String call) throws ReflectiveOperationException {
+        Class<?> c = Class.forName(Call.class.getName(), true, loader);
+        return ((Function<String, Object>) c.getDeclaredConstructor().newInstance()).apply(call);
+    }
+
+    static URL[] classPath() {
+        String[] paths = System.getProperty("java.class.path").split(File.pathSeparator);
+        URL[] urls = new URL[paths.length];
+        try {
+            for (int i = 0; i < paths.length; i++) {
+                urls[i] = Paths.get(paths[i]).toUri().toURL();
+            }
+        } catch (MalformedURLException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return urls;
+    }
+
+    public static void main(String[] args) throws RunnerException, ReflectiveOperationException, IOException {
+        for (String call : new String[]{"list", "now", "sha256", "xpath"}) {
+            try (CountingLoader l = new CountingLoader()) {
+                firstCall(l, call);
+                System.out.printf("%-6s: %d classes loaded%n", call, l.loaded);
+            }
+        }
+        new Runner(new OptionsBuilder()
+                .include(FirstCallBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,98 @@
+package ru.anr.base.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.anr.base.BaseParent;
+import ru.anr.base.collections.LongSet;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link LongSet} with the boxed {@link HashSet} of {@link Long} ids.
+ * <p>
+ * The 'build*' benchmarks show the footprint of collections when they are run with
+ * the GC profiler (see the 'gc.alloc.rate.norm' metric, bytes per operation). The 'contains*' benchmarks
+ * show the lookup throughput.
+ * </p>
+ * <pre>
+ *     mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=ru.anr.base.benchmarks.PrimitiveCollectionsBenchmark
+ * </pre>
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveCollectionsBenchmark {
+
+    @Param({"1000", "1000000"})
+    private int size;
+
+    private long[] ids;
+    private long[] probes;
+
+    private LongSet longSet;
+    private Set<Long> boxedSet;
+
+    @Setup
+    public void setUp() {
+        Random rnd = new Random(1);
+        ids = new long[size];
+        probes = new long[1024];
+        for (int i = 0; i < size; i++) {
+            ids[i] = 1_000_000L + i * 3L;
+        }
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = 1_000_000L + rnd.nextInt(size * 3);
+        }
+        longSet = buildLongSet();
+        boxedSet = buildBoxedSet();
+    }
+
+    @Benchmark
+    public LongSet buildLongSet() {
+        return BaseParent.longSet(ids);
+    }
+
+    @Benchmark
+    public Set<Long> buildBoxedSet() {
+        Set<Long> s = new HashSet<>();
+        for (long id : ids) {
+            s.add(id);
+        }
+        return s;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1024)
+    public void containsLongSet(Blackhole bh) {
+        for (long p : probes) {
+            bh.consume(longSet.contains(p));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1024)
+    public void containsBoxedSet(Blackhole bh) {
+        for (long p : probes) {
+            bh.consume(boxedSet.contains(p));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PrimitiveCollectionsBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
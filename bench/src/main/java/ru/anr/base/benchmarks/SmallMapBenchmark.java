@@ -0,0 +1,77 @@
+package ru.anr.base.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.anr.base.BaseParent;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares small maps created by {@link BaseParent#toMap(Object[])} (a {@link java.util.LinkedHashMap})
+ * and by {@link BaseParent#toCompactMap(Object[])} (a flat array).
+ * <p>
+ * Run with the GC profiler to see the footprint ('gc.alloc.rate.norm' of the 'build*' benchmarks).
+ * </p>
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SmallMapBenchmark {
+
+    @Param({"2", "4", "8"})
+    private int size;
+
+    private Object[] pairs;
+    private String lastKey;
+
+    private Map<String, Object> linkedMap;
+    private Map<String, Object> compactMap;
+
+    @Setup
+    public void setUp() {
+        pairs = new Object[2 * size];
+        for (int i = 0; i < size; i++) {
+            pairs[2 * i] = "key" + i;
+            pairs[2 * i + 1] = i;
+        }
+        lastKey = new String("key" + (size - 1)); // Not the same instance
+        linkedMap = buildLinkedMap();
+        compactMap = buildCompactMap();
+    }
+
+    @Benchmark
+    public Map<String, Object> buildLinkedMap() {
+        return BaseParent.toMap(pairs);
+    }
+
+    @Benchmark
+    public Map<String, Object> buildCompactMap() {
+        return BaseParent.toCompactMap(pairs);
+    }
+
+    @Benchmark
+    public Object getLinkedMap() {
+        return linkedMap.get(lastKey);
+    }
+
+    @Benchmark
+    public Object getCompactMap() {
+        return compactMap.get(lastKey);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SmallMapBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,87 @@
+package ru.anr.base.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.anr.base.BaseParent;
+import ru.anr.base.ParallelUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Compares {@link BaseParent#toMap(java.util.Collection, Function, Function, java.util.function.BinaryOperator)}
+ * with merging (a plain map or the parallel partition-and-merge collector) and the previous implementation
+ * based on {@link Collectors#toConcurrentMap(Function, Function, java.util.function.BinaryOperator)}.
+ * Every key is repeated four times.
+ * <p>
+ * The 'mode' parameter sets the threshold of {@link ParallelUtils}: 'sequential' turns the parallel
+ * processing off, 'adaptive' keeps the default threshold.
+ * </p>
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ToMapBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"sequential", "adaptive"})
+    private String mode;
+
+    private List<Integer> items;
+
+    @Setup
+    public void setUp() {
+        items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(i);
+        }
+        ParallelUtils.setThreshold("sequential".equals(mode) ? Integer.MAX_VALUE : ParallelUtils.DEFAULT_THRESHOLD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ParallelUtils.setThreshold(ParallelUtils.DEFAULT_THRESHOLD);
+    }
+
+    private Integer key(Integer i) {
+        return i % (size / 4);
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> concurrentMap() {
+        return items.stream().collect(Collectors.toConcurrentMap(this::key, Function.identity(), Integer::sum,
+                () -> new ConcurrentHashMap<>((int) Math.ceil(size / 0.75d))));
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> toMap() {
+        return BaseParent.toMap(items, this::key, Function.identity(), Integer::sum);
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> toMapOrdered() {
+        return BaseParent.toMap(items, this::key, Function.identity(), Integer::sum, true);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ToMapBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
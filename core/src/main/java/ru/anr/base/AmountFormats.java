@@ -0,0 +1,195 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.text.FieldPosition;
+import java.text.NumberFormat;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The formatting of decimal amounts without the spring module (FormatUtils delegates here).
+ * Number formats are cached per thread.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 19, 2026
+ */
+public final class AmountFormats {
+
+    /**
+     * Not used
+     */
+    private AmountFormats() {
+    }
+
+    /**
+     * Formats the given number with the use of the given pattern.
+     *
+     * @param value         The decimal value to format
+     * @param scale         The scale
+     * @param currency      true, the value means a currency or false if we deal with a commodity
+     * @param symbolAtStart true, if the symbol needs to be put before the value, or false if after the value
+     * @param symbol        The currency/commodity symbol
+     * @param locale        the locale
+     * @return The resulted formatted string with the value
+     */
+    public static String format(BigDecimal value, int scale, boolean currency, boolean symbolAtStart, String symbol, Locale locale) {
+        return format(new StringBuilder(), value, scale, currency, symbolAtStart, symbol, locale).toString();
+    }
+
+    /**
+     * Formats the given number like {@link #format(BigDecimal, int, boolean, boolean, String, Locale)}
+     * but appends the result to the given {@link Appendable} (a {@link StringBuilder}, for example).
+     * The value is formatted exactly without the conversion to double.
+     *
+     * @param out           The output to append the result to
+     * @param value         The decimal value to format
+     * @param scale         The scale
+     * @param currency      true, the value means a currency or false if we deal with a commodity
+     * @param symbolAtStart true, if the symbol needs to be put before the value, or false if after the value
+     * @param symbol        The currency/commodity symbol
+     * @param locale        the locale
+     * @param <A>           The type of the output
+     * @return The given output
+     */
+    public static <A extends Appendable> A format(A out, BigDecimal value, int scale, boolean currency,
+                                                  boolean symbolAtStart, String symbol, Locale locale) {
+
+        CharSequence number = FORMATTERS.get().format(value, scale, currency, locale);
+        String s = CoreParent.nullSafe(symbol);
+        try {
+            if (symbolAtStart) {
+                out.append(s).append(number);
+            } else {
+                out.append(number).append(s);
+            }
+        } catch (IOException ex) {
+            throw new ApplicationException(ex);
+        }
+        return out;
+    }
+
+    /**
+     * Creates a formatter for whole columns of values with the same parameters as
+     * {@link #format(BigDecimal, int, boolean, boolean, String, Locale)} has. The formatter writes
+     * all values of a column into one buffer with delimiters.
+     *
+     * @param scale         The scale
+     * @param currency      true, the value means a currency or false if we deal with a commodity
+     * @param symbolAtStart true, if the symbol needs to be put before the value, or false if after the value
+     * @param symbol        The currency/commodity symbol
+     * @param locale        the locale
+     * @return The new column formatter (thread-safe)
+     */
+    public static ColumnFormat column(int scale, boolean currency, boolean symbolAtStart, String symbol, Locale locale) {
+        return new ColumnFormat(scale, currency, symbolAtStart, symbol, locale);
+    }
+
+    /**
+     * Creates a new number format for the given parameters.
+     *
+     * @param locale   The locale
+     * @param scale    The scale
+     * @param currency true, the value means a currency or false if we deal with a commodity
+     * @return The new number format
+     */
+    static NumberFormat newFormat(Locale locale, int scale, boolean currency) {
+
+        NumberFormat f = NumberFormat.getInstance(locale);
+        int s = CoreParent.nullSafeOp(scale).orElse(0);
+
+        if (currency) {
+            f.setMinimumFractionDigits(s);
+            f.setMaximumFractionDigits(s);
+        } else {
+            /*
+             * Commodities may have many fraction digits, i.e., 0.12345 g. To shorten the formatted
+             *  amount, we may omit last zeros, i.e., to write 0.1 g instead of 0.10000 g.
+             */
+            f.setMaximumFractionDigits(s);
+            f.setMinimumIntegerDigits(1);
+        }
+        return f;
+    }
+
+    /**
+     * The formatters of the current thread (a {@link NumberFormat} is not thread-safe)
+     */
+    private static final ThreadLocal<Formatters> FORMATTERS = ThreadLocal.withInitial(Formatters::new);
+
+    /**
+     * The key of a cached number format
+     */
+    private static final class FormatKey {
+
+        private final Locale locale;
+        private final int scale;
+        private final boolean currency;
+
+        FormatKey(Locale locale, int scale, boolean currency) {
+            this.locale = locale;
+            this.scale = scale;
+            this.currency = currency;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FormatKey)) {
+                return false;
+            }
+            FormatKey k = (FormatKey) o;
+            return scale == k.scale && currency == k.currency && locale.equals(k.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(locale, scale, currency);
+        }
+    }
+
+    /**
+     * Number formats and a reusable buffer of one thread
+     */
+    private static final class Formatters {
+
+        private final Map<FormatKey, NumberFormat> formats = new HashMap<>();
+        private final StringBuffer buffer = new StringBuffer();
+        private final FieldPosition position = new FieldPosition(0);
+
+        /**
+         * Formats the value into the reusable buffer
+         *
+         * @param value    The value
+         * @param scale    The scale
+         * @param currency The currency flag
+         * @param locale   The locale
+         * @return The buffer with the formatted value (valid until the next call)
+         */
+        CharSequence format(BigDecimal value, int scale, boolean currency, Locale locale) {
+            NumberFormat f = formats.computeIfAbsent(new FormatKey(locale, scale, currency),
+                    k -> newFormat(k.locale, k.scale, k.currency));
+            buffer.setLength(0);
+            return f.format(value, buffer, position);
+        }
+    }
+}
@@ -72,6 +72,19 @@ public class ApplicationException extends NestedRuntimeException {
         super(msg, cause);
     }
 
+    /**
+     * Construction of an exception instance with all properties
+     *
+     * @param msg          The message
+     * @param cause        The root exception (can be null)
+     * @param logFullStack true, if we need the full exception stack to be logged.
+     */
+    protected ApplicationException(String msg, Throwable cause, boolean logFullStack) {
+
+        super(msg, cause);
+        this.logFullStack = logFullStack;
+    }
+
     /**
      * Construction of an exception instance
      *
@@ -102,10 +115,26 @@ public class ApplicationException extends NestedRuntimeException {
     }
 
     /**
+     * Sets the error id. The first assigned id registers the error in {@link ErrorRegistry}, changing
+     * the id later does not count the exception once more.
+     *
      * @param errorId the errorId to set
      */
     public void setErrorId(String errorId) {
 
-        this.errorId = errorId;
+        boolean first = this.errorId == null;
+        this.errorId = ErrorRegistry.intern(errorId);
+        if (first) {
+            ErrorRegistry.created(errorId);
+        }
+    }
+
+    /**
+     * Sets the error id without registering the error
+     *
+     * @param errorId the errorId to set
+     */
+    void assignErrorId(String errorId) {
+        this.errorId = ErrorRegistry.intern(errorId);
     }
 }
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+import ru.anr.base.collections.Batches;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Processes a large number of items in batches with a bounded number of batches in flight,
+ * for example, writing rows to a database by 1000 rows with at most 8 concurrent writes:
+ * <pre>{@code
+ *      BatchResult rs = new BatchProcessor(1000, 8).process(rows, batch -> dao.saveAll(batch));
+ *      rs.throwIfFailed();
+ * }</pre>
+ * <p>
+ * The source is partitioned lazily: the next batch is taken from an iterator or a stream only when
+ * there is a free slot, so the caller's thread waits if all slots are busy (backpressure) and no more
+ * than (maxInFlight + 1) batches are kept in memory. A failure of a batch does not stop the processing,
+ * all failures are collected in the {@link BatchResult}.
+ * </p>
+ * <p>
+ * By default, each batch is run in a new virtual thread if the runtime supports them (Java 21+), otherwise
+ * in a thread pool of maxInFlight threads which lives during one call of process(). A custom executor can
+ * be set with {@link #executor(Executor)}, its lifecycle is managed by the caller.
+ * </p>
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public class BatchProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchProcessor.class);
+
+    /**
+     * The size of a batch
+     */
+    private final int batchSize;
+
+    /**
+     * The max number of batches processed at the same time
+     */
+    private final int maxInFlight;
+
+    /**
+     * A custom executor (null means the default one)
+     */
+    private Executor executor;
+
+    /**
+     * Construction
+     *
+     * @param batchSize   The size of a batch
+     * @param maxInFlight The max number of batches processed at the same time
+     */
+    public BatchProcessor(int batchSize, int maxInFlight) {
+        Assert.isTrue(batchSize > 0, "The batch size must be positive");
+        Assert.isTrue(maxInFlight > 0, "The number of batches in flight must be positive");
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Sets a custom executor for batches
+     *
+     * @param customExecutor The executor (null means the default one)
+     * @return This object for chaining
+     */
+    public BatchProcessor executor(Executor customExecutor) {
+        this.executor = customExecutor;
+        return this;
+    }
+
+    /**
+     * Processes items of the collection
+     *
+     * @param items  The items
+     * @param action The action for a batch
+     * @param <T>    The type of items
+     * @return The result
+     */
+    public <T> BatchResult process(Collection<T> items, Consumer<? super List<T>> action) {
+        return process(items.iterator(), action);
+    }
+
+    /**
+     * Processes items of the stream. The stream is read lazily.
+     *
+     * @param items  The stream of items
+     * @param action The action for a batch
+     * @param <T>    The type of items
+     * @return The result
+     */
+    public <T> BatchResult process(Stream<T> items, Consumer<? super List<T>> action) {
+        return process(items.iterator(), action);
+    }
+
+    /**
+     * Processes items of the iterator. The iterator is read lazily in the caller's thread.
+     *
+     * @param items  The iterator of items
+     * @param action The action for a batch
+     * @param <T>    The type of items
+     * @return The result
+     */
+    public <T> BatchResult process(Iterator<T> items, Consumer<? super List<T>> action) {
+
+        long started = System.nanoTime();
+        ExecutorService owned = executor == null ? newDefaultExecutor(maxInFlight) : null;
+        Executor ex = owned == null ? executor : owned;
+
+        Semaphore slots = new Semaphore(maxInFlight);
+        Queue<BatchResult.Failure> failures = new ConcurrentLinkedQueue<>();
+        int batches = 0;
+        long count = 0;
+
+        try {
+            Iterator<List<T>> it = Batches.partition(items, batchSize);
+            while (it.hasNext()) {
+                slots.acquire(); // Waits for a free slot before taking the next batch
+                List<T> batch;
+                try {
+                    batch = it.next();
+                } catch (RuntimeException e) {
+                    slots.release();
+                    throw e;
+                }
+                int index = batches++;
+                count += batch.size();
+                try {
+                    ex.execute(() -> {
+                        try {
+                            action.accept(batch);
+                        } catch (Throwable e) {
+                            failures.add(new BatchResult.Failure(index, batch.size(), e));
+                        } finally {
+                            slots.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    slots.release();
+                    failures.add(new BatchResult.Failure(index, batch.size(), e));
+                }
+            }
+            slots.acquire(maxInFlight); // Waits for all batches in flight
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApplicationException("Interrupted while processing batches", e);
+        } finally {
+            if (owned != null) {
+                owned.shutdown();
+            }
+        }
+
+        List<BatchResult.Failure> errors = new ArrayList<>(failures);
+        errors.sort(Comparator.comparingInt(BatchResult.Failure::getIndex));
+
+        BatchResult rs = new BatchResult(batches, count, errors, Duration.ofNanos(System.nanoTime() - started));
+        logger.debug("Batch processing: {}", rs);
+        return rs;
+    }
+
+    /**
+     * Creates a new executor with virtual threads (if supported by the runtime) or a fixed thread pool
+     *
+     * @param threads The number of threads for the fixed pool
+     * @return The executor
+     */
+    static ExecutorService newDefaultExecutor(int threads) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(threads);
+        }
+    }
+}
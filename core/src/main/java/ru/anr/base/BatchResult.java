@@ -0,0 +1,149 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of processing by {@link BatchProcessor}: the number of processed batches
+ * and items, the failed batches and the time spent.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public final class BatchResult {
+
+    /**
+     * A failed batch
+     */
+    public static final class Failure {
+
+        private final int index;
+        private final int size;
+        private final Throwable error;
+
+        Failure(int index, int size, Throwable error) {
+            this.index = index;
+            this.size = size;
+            this.error = error;
+        }
+
+        /**
+         * @return The index of the batch (starting from 0)
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return The number of items in the batch
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * @return The error
+         */
+        public Throwable getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            return "Batch #" + index + " (" + size + " items): " + error;
+        }
+    }
+
+    private final int batches;
+    private final long items;
+    private final List<Failure> failures;
+    private final Duration elapsed;
+
+    BatchResult(int batches, long items, List<Failure> failures, Duration elapsed) {
+        this.batches = batches;
+        this.items = items;
+        this.failures = Collections.unmodifiableList(failures);
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * @return The number of batches (including failed ones)
+     */
+    public int getBatches() {
+        return batches;
+    }
+
+    /**
+     * @return The number of items (including items of failed batches)
+     */
+    public long getItems() {
+        return items;
+    }
+
+    /**
+     * @return The failed batches in the order of their indexes
+     */
+    public List<Failure> getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return true, if all batches have been processed without errors
+     */
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * @return The total time of processing
+     */
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * @return The number of processed items per second
+     */
+    public double getThroughput() {
+        long nanos = Math.max(elapsed.toNanos(), 1L);
+        return items * 1e9 / nanos;
+    }
+
+    /**
+     * Throws an exception if some batches have failed. The error of the first failed batch is
+     * the cause, errors of other batches are added as suppressed ones.
+     *
+     * @return The result itself for chaining
+     */
+    public BatchResult throwIfFailed() {
+        if (!failures.isEmpty()) {
+            ApplicationException ex = new ApplicationException(
+                    String.format("%d of %d batches failed", failures.size(), batches), failures.get(0).getError());
+            failures.stream().skip(1).forEach(f -> ex.addSuppressed(f.getError()));
+            throw ex;
+        }
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d items in %d batches (%d failed) for %d ms, %.1f items/s",
+                items, batches, failures.size(), elapsed.toMillis(), getThroughput());
+    }
+}
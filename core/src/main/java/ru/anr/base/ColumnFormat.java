@@ -0,0 +1,278 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+/**
+ * A formatter of whole columns of decimal values into one buffer. The result for each value is the same
+ * as {@link AmountFormats#format(BigDecimal, int, boolean, boolean, String, Locale)} gives, but
+ * the locale symbols are resolved only once and digits are written directly to the buffer.
+ * Very large columns are formatted in parallel chunks in the pool of {@link ParallelUtils}.
+ * <p>
+ * The object is immutable and can be shared between threads. Use
+ * {@link AmountFormats#column(int, boolean, boolean, String, Locale)} to create it.
+ * </p>
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public final class ColumnFormat {
+
+    /**
+     * The minimal size of a column which is formatted in parallel
+     */
+    public static final int PARALLEL_THRESHOLD = 50_000;
+
+    /**
+     * The size of a chunk for parallel formatting
+     */
+    private static final int CHUNK_SIZE = 10_000;
+
+    /**
+     * An estimation of the length of one formatted value (used for presizing)
+     */
+    private static final int CELL_LENGTH = 16;
+
+    private final int scale;
+    private final boolean currency;
+    private final boolean symbolAtStart;
+    private final String symbol;
+    private final Locale locale;
+
+    /**
+     * true, if the digits can be written directly (the locale uses a regular decimal format)
+     */
+    private final boolean direct;
+
+    private final RoundingMode rounding;
+    private final int minFraction;
+    private final int groupingSize;
+    private final char zeroDigit;
+    private final char groupingSeparator;
+    private final char decimalSeparator;
+    private final String positivePrefix;
+    private final String positiveSuffix;
+    private final String negativePrefix;
+    private final String negativeSuffix;
+
+    /**
+     * Construction
+     *
+     * @param scale         The scale
+     * @param currency      true, the value means a currency or false if we deal with a commodity
+     * @param symbolAtStart true, if the symbol needs to be put before the value, or false if after the value
+     * @param symbol        The currency/commodity symbol
+     * @param locale        the locale
+     */
+    ColumnFormat(int scale, boolean currency, boolean symbolAtStart, String symbol, Locale locale) {
+
+        this.scale = scale;
+        this.currency = currency;
+        this.symbolAtStart = symbolAtStart;
+        this.symbol = CoreParent.nullSafe(symbol);
+        this.locale = locale;
+
+        NumberFormat f = AmountFormats.newFormat(locale, scale, currency);
+        DecimalFormat df = (f instanceof DecimalFormat) ? (DecimalFormat) f : null;
+
+        this.direct = df != null && scale >= 0 && scale < FixedDecimal.POWERS.length
+                && df.getMultiplier() == 1 && df.getMinimumIntegerDigits() == 1
+                && !df.isDecimalSeparatorAlwaysShown() && df.getMaximumFractionDigits() == scale;
+
+        DecimalFormatSymbols symbols = (df == null) ? DecimalFormatSymbols.getInstance(locale) : df.getDecimalFormatSymbols();
+        this.rounding = f.getRoundingMode();
+        this.minFraction = f.getMinimumFractionDigits();
+        this.groupingSize = (df != null && df.isGroupingUsed()) ? df.getGroupingSize() : 0;
+        this.zeroDigit = symbols.getZeroDigit();
+        this.groupingSeparator = symbols.getGroupingSeparator();
+        this.decimalSeparator = symbols.getDecimalSeparator();
+        this.positivePrefix = (df == null) ? "" : df.getPositivePrefix();
+        this.positiveSuffix = (df == null) ? "" : df.getPositiveSuffix();
+        this.negativePrefix = (df == null) ? "" : df.getNegativePrefix();
+        this.negativeSuffix = (df == null) ? "" : df.getNegativeSuffix();
+    }
+
+    /**
+     * Formats the given decimal values into the buffer separating them with the delimiter.
+     *
+     * @param out       The buffer to append the values to (can be reused between calls)
+     * @param values    The values
+     * @param delimiter The delimiter between values
+     * @return The given buffer
+     */
+    public StringBuilder format(StringBuilder out, BigDecimal[] values, CharSequence delimiter) {
+        return formatAll(out, values.length, delimiter, (sb, i) -> append(sb, values[i]));
+    }
+
+    /**
+     * Formats the given unscaled values (in the scale of this format, i.e. 12345 means 123.45 for the scale 2)
+     * into the buffer separating them with the delimiter.
+     *
+     * @param out       The buffer to append the values to (can be reused between calls)
+     * @param unscaled  The unscaled values
+     * @param delimiter The delimiter between values
+     * @return The given buffer
+     */
+    public StringBuilder format(StringBuilder out, long[] unscaled, CharSequence delimiter) {
+        return formatAll(out, unscaled.length, delimiter, (sb, i) -> append(sb, unscaled[i]));
+    }
+
+    /**
+     * Formats one decimal value and appends it to the buffer
+     *
+     * @param sb    The buffer
+     * @param value The value
+     * @return The buffer
+     */
+    public StringBuilder append(StringBuilder sb, BigDecimal value) {
+        if (direct) {
+            BigDecimal r = value.setScale(scale, rounding);
+            // Negative values rounded to zero keep their sign in DecimalFormat
+            if (r.unscaledValue().bitLength() < Long.SIZE && (r.signum() != 0 || value.signum() >= 0)) {
+                return appendDirect(sb, r.unscaledValue().longValue());
+            }
+        }
+        return AmountFormats.format(sb, value, scale, currency, symbolAtStart, symbol, locale);
+    }
+
+    /**
+     * Formats one unscaled value and appends it to the buffer
+     *
+     * @param sb       The buffer
+     * @param unscaled The unscaled value in the scale of this format
+     * @return The buffer
+     */
+    public StringBuilder append(StringBuilder sb, long unscaled) {
+        if (direct && unscaled != Long.MIN_VALUE) {
+            return appendDirect(sb, unscaled);
+        }
+        return AmountFormats.format(sb, BigDecimal.valueOf(unscaled, scale), scale, currency, symbolAtStart, symbol, locale);
+    }
+
+    /**
+     * Writes the digits of the value directly
+     *
+     * @param sb       The buffer
+     * @param unscaled The unscaled value (not {@link Long#MIN_VALUE})
+     * @return The buffer
+     */
+    private StringBuilder appendDirect(StringBuilder sb, long unscaled) {
+
+        if (symbolAtStart) {
+            sb.append(symbol);
+        }
+        boolean negative = unscaled < 0;
+        long abs = Math.abs(unscaled);
+        long p = FixedDecimal.POWERS[scale];
+        long integer = abs / p;
+        long fraction = abs % p;
+
+        sb.append(negative ? negativePrefix : positivePrefix);
+
+        int digits = 1;
+        while (digits < FixedDecimal.POWERS.length && integer >= FixedDecimal.POWERS[digits]) {
+            digits++;
+        }
+        for (int i = digits - 1; i >= 0; i--) {
+            sb.append((char) (zeroDigit + (integer / FixedDecimal.POWERS[i]) % 10));
+            if (groupingSize > 0 && i > 0 && i % groupingSize == 0) {
+                sb.append(groupingSeparator);
+            }
+        }
+
+        // Trailing zeros are omitted down to the minimal number of fraction digits
+        int fractionDigits = scale;
+        while (fractionDigits > minFraction && fraction % 10 == 0) {
+            fraction /= 10;
+            fractionDigits--;
+        }
+        if (fractionDigits > 0) {
+            sb.append(decimalSeparator);
+            for (int i = fractionDigits - 1; i >= 0; i--) {
+                sb.append((char) (zeroDigit + (fraction / FixedDecimal.POWERS[i]) % 10));
+            }
+        }
+        sb.append(negative ? negativeSuffix : positiveSuffix);
+
+        if (!symbolAtStart) {
+            sb.append(symbol);
+        }
+        return sb;
+    }
+
+    /**
+     * Writes one cell of a column
+     */
+    @FunctionalInterface
+    private interface CellWriter {
+        void write(StringBuilder sb, int index);
+    }
+
+    /**
+     * Formats all cells sequentially or in parallel chunks for large columns
+     *
+     * @param out       The buffer
+     * @param size      The number of cells
+     * @param delimiter The delimiter
+     * @param writer    The writer of cells
+     * @return The buffer
+     */
+    private static StringBuilder formatAll(StringBuilder out, int size, CharSequence delimiter, CellWriter writer) {
+        if (size < PARALLEL_THRESHOLD) {
+            out.ensureCapacity(out.length() + size * CELL_LENGTH);
+            return formatRange(out, 0, size, delimiter, writer);
+        }
+
+        int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        StringBuilder[] parts = new StringBuilder[chunks];
+        ParallelUtils.run(() -> {
+            IntStream.range(0, chunks).parallel().forEach(c -> parts[c] = formatRange(
+                    new StringBuilder(CHUNK_SIZE * CELL_LENGTH),
+                    c * CHUNK_SIZE, Math.min(size, (c + 1) * CHUNK_SIZE), delimiter, writer));
+            return parts;
+        });
+
+        int length = 0;
+        for (StringBuilder p : parts) {
+            length += p.length() + delimiter.length();
+        }
+        out.ensureCapacity(out.length() + length);
+        for (int c = 0; c < chunks; c++) {
+            if (c > 0) {
+                out.append(delimiter);
+            }
+            out.append(parts[c]);
+        }
+        return out;
+    }
+
+    private static StringBuilder formatRange(StringBuilder sb, int from, int to, CharSequence delimiter, CellWriter writer) {
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                sb.append(delimiter);
+            }
+            writer.write(sb, i);
+        }
+        return sb;
+    }
+}
@@ -15,53 +15,55 @@
  */
 package ru.anr.base;
 
-import com.jamesmurty.utils.XMLBuilder;
-import org.apache.commons.codec.binary.Hex;
-import org.apache.commons.collections4.FactoryUtils;
-import org.apache.commons.collections4.FunctorException;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.ArrayUtils;
+import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.util.Assert;
-import org.springframework.util.CollectionUtils;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.ReflectionUtils;
-import org.xml.sax.SAXException;
+import ru.anr.base.cache.Memoizer;
+import ru.anr.base.collections.ArrayMap;
+import ru.anr.base.collections.Batches;
+import ru.anr.base.collections.IntList;
+import ru.anr.base.collections.IntSet;
+import ru.anr.base.collections.LongList;
+import ru.anr.base.collections.LongSet;
+import ru.anr.base.collections.Views;
+import ru.anr.base.metrics.Probe;
 
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.TransformerException;
-import javax.xml.xpath.XPathExpressionException;
-import java.io.IOException;
-import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.nio.charset.Charset;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
- * The base class which contains a set of useful functions and short-cuts.
+ * The dependency-light part of {@code BaseParent}: short-cuts for collections, strings,
+ * dates, numbers and waiting which need nothing but the JDK, commons-lang3 and spring-core.
  * <p>
- * The main idea is to reduce the number of code lines in projects when using this
- * class as the parent.
+ * It is the parent of {@code BaseParent} (the spring module), so all the functions are still available via
+ * {@code BaseParent} and its subclasses. Projects which need only these functions can depend
+ * on the core module and use this class directly.
+ * </p>
  *
  * @author Alexey Romanchuk
  * @created Oct 29, 2014
  */
-public class BaseParent {
+public class CoreParent {
 
     /**
      * The default encoding
@@ -155,6 +157,18 @@ public class BaseParent {
         return nullSafe(l, ArrayList::new).orElse(new ArrayList<>());
     }
 
+    /**
+     * A null-safe read-only view of a list. Unlike {@link #list(List)}, the elements are not
+     * copied, so the view reflects later changes of the original list.
+     *
+     * @param l   The original, possibly, null value
+     * @param <S> The type of elements
+     * @return An unmodifiable view of the list (an empty list for null)
+     */
+    public static <S> List<S> view(List<S> l) {
+        return l == null ? Collections.emptyList() : Collections.unmodifiableList(l);
+    }
+
     /**
      * A simpler shortcut for converting a stream to a list.
      *
@@ -189,6 +203,46 @@ public class BaseParent {
         return stream.collect(Collectors.toSet());
     }
 
+    /**
+     * A shortcut for the creation of a list of primitive long values.
+     *
+     * @param array The values
+     * @return A new list with the values
+     */
+    public static LongList longList(long... array) {
+        return LongList.of(array);
+    }
+
+    /**
+     * A shortcut for the creation of a list of primitive int values.
+     *
+     * @param array The values
+     * @return A new list with the values
+     */
+    public static IntList intList(int... array) {
+        return IntList.of(array);
+    }
+
+    /**
+     * A shortcut for the creation of a set of primitive long values.
+     *
+     * @param array The values
+     * @return A new set with the values
+     */
+    public static LongSet longSet(long... array) {
+        return LongSet.of(array);
+    }
+
+    /**
+     * A shortcut for the creation of a set of primitive int values.
+     *
+     * @param array The values
+     * @return A new set with the values
+     */
+    public static IntSet intSet(int... array) {
+        return IntSet.of(array);
+    }
+
     /**
      * The concatenation of two arrays into one.
      *
@@ -294,7 +348,11 @@ public class BaseParent {
      * @return The found object or null is the collection is empty or null
      */
     public static <S> S first(Collection<S> coll) {
-        return CollectionUtils.isEmpty(coll) ? null : coll.iterator().next();
+        if (coll == null) {
+            return null;
+        }
+        Iterator<S> it = coll.iterator(); // A single pass for lazy views
+        return it.hasNext() ? it.next() : null;
     }
 
     /**
@@ -322,6 +380,40 @@ public class BaseParent {
         return coll == null ? null : coll.stream().filter(predicate).collect(Collectors.toList());
     }
 
+    /**
+     * A lazy variant of {@link #filter(Collection, Predicate)} which does not copy the matched items,
+     * but returns a read-only view of the original collection. The predicate is evaluated each time
+     * the view is iterated, and {@link #first(Collection)} of the view stops at the first matched item.
+     *
+     * @param coll      The original collection
+     * @param predicate The predicate (can be a lambda expression)
+     * @param <S>       The type of collection's items
+     * @return The filtered view (or null, if the collection is null)
+     */
+    public static <S> Collection<S> filterView(Collection<S> coll, Predicate<? super S> predicate) {
+        return coll == null ? null : Views.filter(coll, predicate);
+    }
+
+    /**
+     * Finds the first item of the collection that matches the predicate without creating
+     * an intermediate collection. The function is null-safe.
+     *
+     * @param coll      The original collection
+     * @param predicate The predicate
+     * @param <S>       The type of collection's items
+     * @return The found item or null
+     */
+    public static <S> S first(Collection<S> coll, Predicate<? super S> predicate) {
+        if (coll != null) {
+            for (S o : coll) {
+                if (predicate.test(o)) {
+                    return o;
+                }
+            }
+        }
+        return null;
+    }
+
     /**
      * Adds an item to the given collection if the item is not null.
      *
@@ -403,24 +495,6 @@ public class BaseParent {
         return (value == null) ? Optional.empty() : Optional.of(value);
     }
 
-    /**
-     * A null-safe initialization of object. If the original object is not
-     * null, then it is simply returned. But in case of a null value, a new
-     * one is created using the given class.
-     * <p>
-     * This approach allows to safely get an instance of the object
-     * even if it is null without doing special checking.
-     * </p>
-     *
-     * @param o     The original object (possibly, null)
-     * @param clazz The class of the object
-     * @param <S>   The object type
-     * @return The old object or a new created
-     */
-    public static <S> S nullSafe(S o, Class<S> clazz) {
-        return Optional.ofNullable(o).orElse(inst(clazz, new Class<?>[]{}));
-    }
-
     /**
      * Converts an array of pairs of elements to a Map&lt;K,S&gt; object with
      * casting to K and S types.
@@ -435,7 +509,8 @@ public class BaseParent {
     @SuppressWarnings("unchecked")
     public static <K, S, T> Map<K, S> toMap(T... array) {
 
-        Map<K, S> map = new LinkedHashMap<>(); // The order is important
+        int size = (array == null) ? 0 : (array.length + 1) / 2;
+        Map<K, S> map = new LinkedHashMap<>(mapCapacity(size)); // The order is important
         if (array != null && array.length > 0) {
 
             int l = (array.length % 2 == 0) ? array.length : (array.length + 1);
@@ -448,6 +523,45 @@ public class BaseParent {
         return map;
     }
 
+    /**
+     * The maximal number of keys of a map created by {@link #toCompactMap(Object[])} which
+     * is backed by a flat array.
+     */
+    public static final int COMPACT_MAP_MAX_SIZE = 8;
+
+    /**
+     * Converts an array of pairs of elements to an immutable Map&lt;K,S&gt; like
+     * {@link #toMap(Object[])} does. The resulted map keeps the insertion order. Small maps
+     * (see {@link #COMPACT_MAP_MAX_SIZE}) are backed by a flat array which is much smaller than a
+     * {@link LinkedHashMap} and fast for a few keys.
+     *
+     * @param array The pairs (key, value) given as a plain array
+     * @param <K>   The type of keys
+     * @param <T>   The type of values
+     * @param <S>   Type of map values
+     * @return The resulted immutable map
+     */
+    @SafeVarargs
+    public static <K, S, T> Map<K, S> toCompactMap(T... array) {
+        if (array == null || array.length == 0) {
+            return Collections.emptyMap();
+        }
+        return (array.length + 1) / 2 <= COMPACT_MAP_MAX_SIZE ?
+                ArrayMap.ofPairs(Arrays.copyOf(array, array.length, Object[].class)) :
+                Collections.unmodifiableMap(toMap(array));
+    }
+
+    /**
+     * Calculates the initial capacity of a hash map which can hold the given number of
+     * entries without resizing.
+     *
+     * @param expectedSize The expected number of entries
+     * @return The capacity
+     */
+    static int mapCapacity(int expectedSize) {
+        return (int) Math.ceil(expectedSize / 0.75d);
+    }
+
     /**
      * A shortcut method for simple grouping and converting from a collection to a map.
      * The simplest usage of the function is something like this:
@@ -471,7 +585,18 @@ public class BaseParent {
                                             Function<? super T, ? extends K> keyMapper,
                                             Function<? super T, ? extends U> valueMapper) {
 
-        return collection.stream().collect(Collectors.toMap(keyMapper, valueMapper));
+        // The same behaviour as Collectors.toMap() has, but with a presized map
+        Map<K, U> map = new HashMap<>(mapCapacity(collection.size()));
+        for (T item : collection) {
+            K k = keyMapper.apply(item);
+            U v = Objects.requireNonNull(valueMapper.apply(item));
+            U old = map.putIfAbsent(k, v);
+            if (old != null) {
+                throw new IllegalStateException(String.format("Duplicate key %s (attempted merging values %s and %s)",
+                        k, old, v));
+            }
+        }
+        return map;
     }
 
     /**
@@ -498,37 +623,52 @@ public class BaseParent {
     public static <T, K, U> Map<K, U> toMap(Collection<T> collection, Function<? super T, ? extends K> keyMapper,
                                             Function<? super T, ? extends U> valueMapper,
                                             BinaryOperator<U> mergeFunction) {
-        return collection.stream().collect(Collectors.toConcurrentMap(keyMapper, valueMapper, mergeFunction));
+        return toMap(collection, keyMapper, valueMapper, mergeFunction, false);
     }
 
     /**
-     * Safe parsing of string to some {@link Number} value.
+     * Builds a map from a collection when there can be non-unique keys. Small collections are
+     * processed sequentially into a presized map. Large collections (see {@link ParallelUtils#getThreshold()})
+     * are split into parts, each part is collected into its own map and then the maps are merged, so
+     * the mappers and the merge function must be stateless. Values of the same key are always merged
+     * in the encounter order.
      *
-     * @param x     The string value
-     * @param clazz The expected class of Number object
-     * @param <S>   The object type
-     * @return The resulted parsed value or null if parsing was unsuccessful
+     * @param collection    The original collection to group
+     * @param keyMapper     The map key mapper
+     * @param valueMapper   The map value mapper
+     * @param mergeFunction The merge function if values have the same key
+     * @param ordered       true, if the resulted map must keep the encounter order of keys
+     *                      (a {@link LinkedHashMap} is used then)
+     * @param <T>           The type of collection item
+     * @param <K>           Type of the map key
+     * @param <U>           Type of the map value
+     * @return A new map
      */
-    public static <S extends Number> S parse(String x, Class<S> clazz) {
-        S v = null;
-        try {
-            v = inst(clazz, new Class<?>[]{String.class}, x);
-        } catch (FunctorException | IllegalArgumentException ignored) {
+    public static <T, K, U> Map<K, U> toMap(Collection<T> collection, Function<? super T, ? extends K> keyMapper,
+                                            Function<? super T, ? extends U> valueMapper,
+                                            BinaryOperator<U> mergeFunction, boolean ordered) {
+
+        if (ParallelUtils.isParallel(collection.size())) {
+            Supplier<Map<K, U>> supplier = ordered ? LinkedHashMap::new : HashMap::new;
+            return ParallelUtils.run(() -> collection.parallelStream()
+                    .collect(Collectors.toMap(keyMapper, valueMapper, mergeFunction, supplier)));
         }
-        return v;
+
+        int capacity = mapCapacity(collection.size());
+        Map<K, U> map = ordered ? new LinkedHashMap<>(capacity) : new HashMap<>(capacity);
+        for (T item : collection) {
+            map.merge(keyMapper.apply(item), Objects.requireNonNull(valueMapper.apply(item)), mergeFunction);
+        }
+        return map;
     }
 
     /**
-     * Instantiation of objects.
-     *
-     * @param clazz      The class to instantiate
-     * @param paramTypes The constructor arguments
-     * @param args       Any arguments that need to be provided
-     * @param <S>        The object type
-     * @return The resulted new object
+     * The holder of probes of the hot helpers (see {@link ru.anr.base.metrics.Instrumentation}),
+     * created with the first measured call
      */
-    public static <S> S inst(Class<? extends S> clazz, Class<?>[] paramTypes, Object... args) {
-        return FactoryUtils.instantiateFactory(clazz, paramTypes, args).create();
+    private static final class Probes {
+
+        private static final Probe WAIT = Probe.of("base.waitCondition");
     }
 
     /**
@@ -541,23 +681,38 @@ public class BaseParent {
     }
 
     /**
-     * A shortcut for the creation of {@link BigDecimal} from a string value.
+     * A shortcut for the creation of {@link BigDecimal} from a string value. Small whole values
+     * like '1' or '5.00' are taken from the cache.
      *
      * @param numberAsStr The string representation for a decimal value
-     * @return The resulted new {@link BigDecimal} object
+     * @return The resulted {@link BigDecimal} object
      */
     public static BigDecimal d(String numberAsStr) {
-        return new BigDecimal(numberAsStr);
+        return DecimalCache.parse(numberAsStr);
     }
 
     /**
-     * A shortcut for the creation of {@link BigDecimal} from a double value
+     * A shortcut for the creation of {@link BigDecimal} from a double value. The result is the same
+     * as for the string representation given by {@link Double#toString(double)}, i.e. 2.0 gives '2.0'.
      *
      * @param value The double value
-     * @return The resulted new {@link BigDecimal}
+     * @return The resulted {@link BigDecimal}
      */
     public static BigDecimal d(double value) {
-        return d(Double.toString(value));
+        return DecimalCache.valueOf(value);
+    }
+
+    /**
+     * A shortcut for the creation of {@link BigDecimal} from the unscaled value and the scale
+     * like {@link BigDecimal#valueOf(long, int)}, i.e. d(12345, 2) gives '123.45'. Small whole values
+     * are taken from the cache.
+     *
+     * @param unscaled The unscaled value
+     * @param scale    The scale
+     * @return The resulted {@link BigDecimal}
+     */
+    public static BigDecimal d(long unscaled, int scale) {
+        return DecimalCache.valueOf(unscaled, scale);
     }
 
     /**
@@ -634,10 +789,90 @@ public class BaseParent {
      */
     @SafeVarargs
     public static <S> boolean contains(Collection<S> coll, boolean all, S... items) {
-        Set<S> s = set(items);
-        return all ?
-                coll.containsAll(list(items)) :
-                coll.stream().parallel().anyMatch(s::contains);
+        return all ? coll.containsAll(Arrays.asList(items)) : containsAny(coll, items);
+    }
+
+    /**
+     * The max number of items which are compared one by one with an element of a collection
+     * (more items are put into a hash set)
+     */
+    private static final int CONTAINS_LINEAR_MAX = 4;
+
+    /**
+     * Checks whether the collection contains at least one of the items. The check is done from
+     * the smaller side: the items are looked up in a hash set collection, otherwise the collection
+     * is scanned. Large collections (see {@link ParallelUtils#getThreshold()}) are scanned in parallel
+     * in the pool from {@link ParallelUtils#getPool()}.
+     *
+     * @param coll  The source collection
+     * @param items The items
+     * @param <S>   The type of arguments
+     * @return true, if the collection contains any of the items
+     */
+    private static <S> boolean containsAny(Collection<S> coll, S[] items) {
+
+        if (items.length == 0 || coll.isEmpty()) {
+            return false;
+        }
+        // Only hash-based sets are safe for nulls and items of other types
+        if ((coll instanceof HashSet || coll instanceof EnumSet) && items.length <= coll.size()) {
+            for (S item : items) {
+                if (coll.contains(item)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        Predicate<Object> probe = probe(items);
+        if (ParallelUtils.isParallel(coll.size())) {
+            return ParallelUtils.run(() -> coll.parallelStream().anyMatch(probe));
+        }
+        for (S o : coll) {
+            if (probe.test(o)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds a predicate checking that an object is one of the given items. Enums of the same type are
+     * checked by their ordinals in a bit set, a few items are compared directly.
+     *
+     * @param items The items (at least one)
+     * @return The predicate
+     */
+    private static Predicate<Object> probe(Object[] items) {
+
+        if (items[0] instanceof Enum) {
+            Class<?> type = ((Enum<?>) items[0]).getDeclaringClass();
+            BitSet ordinals = new BitSet();
+            for (Object item : items) {
+                if (!(item instanceof Enum) || ((Enum<?>) item).getDeclaringClass() != type) {
+                    ordinals = null;
+                    break;
+                }
+                ordinals.set(((Enum<?>) item).ordinal());
+            }
+            if (ordinals != null) {
+                BitSet bits = ordinals;
+                return o -> o instanceof Enum && ((Enum<?>) o).getDeclaringClass() == type
+                        && bits.get(((Enum<?>) o).ordinal());
+            }
+        }
+        if (items.length <= CONTAINS_LINEAR_MAX) {
+            return o -> {
+                for (Object item : items) {
+                    if (Objects.equals(item, o)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        }
+        Set<Object> s = new HashSet<>(Arrays.asList(items));
+        return s::contains;
     }
 
     /**
@@ -651,13 +886,24 @@ public class BaseParent {
      * @return The calculated result of decimal value
      */
     public static <S> BigDecimal total(Stream<S> stream, Function<? super S, BigDecimal> mapper) {
-        return stream.map(mapper).reduce(BigDecimal.ZERO, BigDecimal::add);
+        return stream.map(mapper)
+                .collect(DecimalAccumulator::new, DecimalAccumulator::add, DecimalAccumulator::combine)
+                .result();
     }
 
+    /**
+     * The size of a list from which the total value is calculated in parallel
+     */
+    public static final int TOTAL_PARALLEL_THRESHOLD = 10_000;
+
     /**
      * Calculates the total value for the specified stream. The given mapper
      * function provides a conversion operation from a stream item of the type S to
      * a {@link BigDecimal} value.
+     * <p>
+     * Large lists (see {@link #TOTAL_PARALLEL_THRESHOLD}) are processed in parallel in the pool
+     * of {@link ParallelUtils}, so the mapper must be stateless.
+     * </p>
      *
      * @param list   The list of objects
      * @param mapper The mapper function
@@ -665,7 +911,26 @@ public class BaseParent {
      * @return The calculated result of decimal value
      */
     public static <S> BigDecimal total(List<S> list, Function<? super S, BigDecimal> mapper) {
-        return total(list.stream(), mapper);
+        return total(list, mapper, TOTAL_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Calculates the total value for the specified list, going parallel if the size of the list
+     * is not less than the given threshold. While all values have the same scale, the sum is accumulated
+     * as a long number, so the result is exactly the same as the sequential {@link BigDecimal} addition.
+     * The parallel calculation runs in the pool of {@link ParallelUtils}.
+     *
+     * @param list              The list of objects
+     * @param mapper            The mapper function (must be stateless)
+     * @param parallelThreshold The minimal size of the list to calculate in parallel
+     * @param <S>               The supposed type of objects in the stream
+     * @return The calculated result of decimal value
+     */
+    public static <S> BigDecimal total(List<S> list, Function<? super S, BigDecimal> mapper, int parallelThreshold) {
+        if (list.size() < parallelThreshold) {
+            return total(list.stream(), mapper);
+        }
+        return ParallelUtils.run(() -> total(list.parallelStream(), mapper));
     }
 
     /**
@@ -684,7 +949,8 @@ public class BaseParent {
 
     /**
      * Executes something specified in the callback but ignores any exceptions
-     * and writes them to the error log
+     * and writes them to the error log. The number of logged errors is limited
+     * for each callback (see {@link ErrorLogLimiter}).
      *
      * @param callback The callback to use
      * @param params   A set of parameters
@@ -695,7 +961,7 @@ public class BaseParent {
         try {
             return callback.apply(params);
         } catch (Throwable ex) {
-            error("Ignored error: {}", nullSafe(ex.getMessage()));
+            logIgnored(callback, ex);
             return null;
         }
     }
@@ -704,10 +970,52 @@ public class BaseParent {
         try {
             callback.accept(params);
         } catch (Throwable ex) {
-            error("Ignored error: {}", nullSafe(ex.getMessage()));
+            logIgnored(callback, ex);
+        }
+    }
+
+    private static void logIgnored(Object callback, Throwable ex) {
+        if (Log.LOGGER.isErrorEnabled()) {
+            long suppressed = ErrorLogLimiter.acquire(callback.getClass());
+            if (suppressed >= 0) {
+                ErrorRegistry.logged(ex);
+            }
+            if (suppressed == 0) {
+                Log.LOGGER.error("Ignored error: {}", nullSafe(ex.getMessage()));
+            } else if (suppressed > 0) {
+                Log.LOGGER.error("Ignored error: {} ({} similar errors suppressed)", nullSafe(ex.getMessage()), suppressed);
+            }
         }
     }
 
+    /**
+     * Wraps a pure function with an unbounded thread-safe cache. Concurrent calls with the same
+     * argument compute the value only once.
+     *
+     * @param function The function (its result must depend on the argument only)
+     * @param <K>      The type of arguments
+     * @param <V>      The type of results
+     * @return The caching function with statistics (see {@link Memoizer#stats()})
+     */
+    public static <K, V> Memoizer<K, V> memoize(Function<K, V> function) {
+        return new Memoizer<>(function);
+    }
+
+    /**
+     * Wraps a pure function with a size-bounded thread-safe cache. The least frequently used values
+     * are evicted (see {@link Memoizer.Eviction#TINY_LFU}), values also expire after the given time.
+     *
+     * @param function The function (its result must depend on the argument only)
+     * @param maxSize  The max number of cached values
+     * @param ttl      The time to live of a value (null means infinite)
+     * @param <K>      The type of arguments
+     * @param <V>      The type of results
+     * @return The caching function with statistics (see {@link Memoizer#stats()})
+     */
+    public static <K, V> Memoizer<K, V> memoize(Function<K, V> function, int maxSize, Duration ttl) {
+        return new Memoizer<>(function, maxSize, Memoizer.Eviction.TINY_LFU, ttl);
+    }
+
     // //////////////////////////// TIME FUNCTIONS ///////////////////////////
 
     /**
@@ -794,30 +1102,6 @@ public class BaseParent {
         return z.isBefore(now());
     }
 
-    /**
-     * Parses the given string as a local date-time according to the pattern. If nothing is parsed, the null option
-     * is returned.
-     *
-     * @param strValue The value to parse
-     * @param pattern  The pattern
-     * @return The resulted parsed value
-     */
-    public static Optional<LocalDateTime> parseLocal(String strValue, String pattern) {
-        return nullSafe(strValue, s -> ParseUtils.parseLocal(s, pattern));
-    }
-
-    /**
-     * Parses the given string as the date according to the pattern. If nothing is parsed, the null option
-     * is returned.
-     *
-     * @param strValue The value to parse
-     * @param pattern  The pattern (like 'yyyy-MM-dd' or 'dd.MM.yyyy'
-     * @return The resulted parsed value
-     */
-    public static Optional<LocalDate> parseLocalDate(String strValue, String pattern) {
-        return nullSafe(strValue, s -> ParseUtils.parseLocalDate(s, pattern));
-    }
-
     /**
      * Converts the given local date to the default zone 00:00 time.
      *
@@ -854,6 +1138,47 @@ public class BaseParent {
 
     ///////////////////////////////////////////////////////////////////////////
 
+    /**
+     * The holder of loggers. The logging backend is initialized with the first logging call,
+     * not with the first call of any function of this class.
+     */
+    private static final class Log {
+
+        /**
+         * The logger of the static logging functions. It keeps the category of BaseParent where
+         * these functions were before, so existing logging configurations still apply.
+         */
+        private static final Logger LOGGER = LoggerFactory.getLogger("ru.anr.base.BaseParent");
+
+        /**
+         * Loggers of classes (resolved once per class)
+         */
+        private static final ClassValue<Logger> LOGGERS = new ClassValue<>() {
+            @Override
+            protected Logger computeValue(Class<?> type) {
+                return LoggerFactory.getLogger(type);
+            }
+        };
+    }
+
+    /**
+     * Returns the cached logger of the given class, so it is not looked up in the logger factory
+     * on each call.
+     *
+     * @param clazz The class
+     * @return The logger
+     */
+    public static Logger logger(Class<?> clazz) {
+        return Log.LOGGERS.get(clazz);
+    }
+
+    /**
+     * @return The cached logger of the actual class of this object
+     */
+    protected Logger logger() {
+        return Log.LOGGERS.get(getClass());
+    }
+
     /**
      * Instant logging (usually for testing)
      *
@@ -861,7 +1186,7 @@ public class BaseParent {
      * @param arguments A set of argument of the message
      */
     public static void log(String msg, Object... arguments) {
-        LoggerFactory.getLogger(BaseParent.class).info(msg, arguments);
+        Log.LOGGER.info(msg, arguments);
     }
 
     /**
@@ -871,7 +1196,85 @@ public class BaseParent {
      * @param arguments A set of argument of the message
      */
     public static void error(String msg, Object... arguments) {
-        LoggerFactory.getLogger(BaseParent.class).error(msg, arguments);
+        Log.LOGGER.error(msg, arguments);
+    }
+
+    /**
+     * Instant logging for a warning
+     *
+     * @param msg       A log message
+     * @param arguments A set of argument of the message
+     */
+    public static void warn(String msg, Object... arguments) {
+        Log.LOGGER.warn(msg, arguments);
+    }
+
+    /**
+     * Instant logging with the debug level
+     *
+     * @param msg       A log message
+     * @param arguments A set of argument of the message
+     */
+    public static void debug(String msg, Object... arguments) {
+        Log.LOGGER.debug(msg, arguments);
+    }
+
+    /**
+     * Instant logging with the trace level
+     *
+     * @param msg       A log message
+     * @param arguments A set of argument of the message
+     */
+    public static void trace(String msg, Object... arguments) {
+        Log.LOGGER.trace(msg, arguments);
+    }
+
+    /**
+     * Logging a warning with lazy arguments: the suppliers are called only if the level is enabled.
+     *
+     * @param msg       A log message
+     * @param argument  The first argument of the message
+     * @param arguments Other arguments of the message
+     */
+    public static void warn(String msg, Supplier<?> argument, Supplier<?>... arguments) {
+        if (Log.LOGGER.isWarnEnabled()) {
+            Log.LOGGER.warn(msg, resolve(argument, arguments));
+        }
+    }
+
+    /**
+     * Debug logging with lazy arguments: the suppliers are called only if the level is enabled.
+     *
+     * @param msg       A log message
+     * @param argument  The first argument of the message
+     * @param arguments Other arguments of the message
+     */
+    public static void debug(String msg, Supplier<?> argument, Supplier<?>... arguments) {
+        if (Log.LOGGER.isDebugEnabled()) {
+            Log.LOGGER.debug(msg, resolve(argument, arguments));
+        }
+    }
+
+    /**
+     * Trace logging with lazy arguments: the suppliers are called only if the level is enabled.
+     *
+     * @param msg       A log message
+     * @param argument  The first argument of the message
+     * @param arguments Other arguments of the message
+     */
+    public static void trace(String msg, Supplier<?> argument, Supplier<?>... arguments) {
+        if (Log.LOGGER.isTraceEnabled()) {
+            Log.LOGGER.trace(msg, resolve(argument, arguments));
+        }
+    }
+
+    private static Object[] resolve(Supplier<?> argument, Supplier<?>... arguments) {
+        Object[] values = new Object[arguments.length + 1];
+        values[0] = argument.get();
+        for (int i = 0; i < arguments.length; i++) {
+            values[i + 1] = arguments[i].get();
+        }
+        return values;
     }
 
     /**
@@ -896,6 +1299,7 @@ public class BaseParent {
 
         int counter = 0;
         Set<Integer> s = new HashSet<>(PERCENTS);
+        long start = Probes.WAIT.start();
 
         while (!callback.apply(args)) {
 
@@ -915,7 +1319,12 @@ public class BaseParent {
             }
             sleep(sleepTime);
         }
-        return counter > (secs * 1000);
+        Probes.WAIT.stop(start);
+        if (counter > (secs * 1000)) {
+            Probes.WAIT.error();
+            return true;
+        }
+        return false;
     }
 
     /**
@@ -936,131 +1345,179 @@ public class BaseParent {
     }
 
     /**
-     * Reads the file from the given class path
+     * Formats the given date/time according to the given pattern.
      *
-     * @param path The path to the file's location
-     * @return The content as a string
+     * @param dateTime The date/time
+     * @param pattern  The string pattern
+     * @return The resulted formatted date/time
      */
-    public static String readAsString(String path) {
-        return utf8(readAsBytes(path));
+    public static String formatDateTime(ZonedDateTime dateTime, String pattern) {
+        return nullSafe(dateTime, d -> DateTimeFormatter.ofPattern(pattern).format(d)).orElse(null);
     }
 
     /**
-     * Reads the file from the class path
+     * This method convert the given collection of objects to a set of some
+     * unique key attributes. It can be used to fast check the object collection
+     * consist of required ones using just their keys.
      *
-     * @param path The path to the file's location
-     * @return The content as a byte array
+     * @param coll     A collection
+     * @param callback The callback for extracting the key from the given object
+     * @param <S>      The type of the object in the collection
+     * @param <K>      The type of keys
+     * @return A set of key attributes
      */
-    public static byte[] readAsBytes(String path) {
-        try {
-            return IOUtils.toByteArray(new ClassPathResource(path).getInputStream());
-        } catch (IOException ex) {
-            throw new ApplicationException(ex);
-        }
+    public static <S, K> Set<K> extract(Collection<S> coll, Function<S, K> callback) {
+        return set(coll.stream().map(callback));
     }
 
     /**
-     * Formats the given date/time according to the given pattern.
+     * A lazy variant of {@link #extract(Collection, Function)} which returns a read-only view of
+     * the original collection with the callback applied on each access. Unlike the extracted set,
+     * the view has the same size as the collection (duplicate keys are not removed).
      *
-     * @param dateTime The date/time
-     * @param pattern  The string pattern
-     * @return The resulted formatted date/time
+     * @param coll     A collection
+     * @param callback The callback for extracting the key from the given object
+     * @param <S>      The type of the object in the collection
+     * @param <K>      The type of keys
+     * @return A view of keys (or null, if the collection is null)
      */
-    public static String formatDateTime(ZonedDateTime dateTime, String pattern) {
-        return nullSafe(dateTime, d -> DateTimeFormatter.ofPattern(pattern).format(d)).orElse(null);
+    public static <S, K> Collection<K> extractView(Collection<S> coll, Function<? super S, ? extends K> callback) {
+        return coll == null ? null : Views.map(coll, callback);
     }
 
     /**
-     * Hashes a string with the sha256 algorithm
+     * Creates a read-only view of the list with the callback applied to the elements on each access.
+     * No elements are copied, the view supports random access if the list does.
      *
-     * @param s The given string
-     * @return The hashed string
+     * @param l        A list
+     * @param callback The mapping callback
+     * @param <S>      The type of list elements
+     * @param <R>      The type of results
+     * @return A view of results (or null, if the list is null)
      */
-    public static String sha256(String s) {
-        return digest(s, "SHA-256");
+    public static <S, R> List<R> mapView(List<S> l, Function<? super S, ? extends R> callback) {
+        return l == null ? null : Views.map(l, callback);
     }
 
     /**
-     * Generates the digest of the given string using the given algorithm
+     * Splits the list into batches of the given size (the last one can be smaller). The batches are
+     * views of the original list, nothing is copied.
      *
-     * @param s         The string
-     * @param algorithm The algorithm
-     * @return The resulted digest
+     * @param l    A list
+     * @param size The size of a batch
+     * @param <S>  The type of list elements
+     * @return The list of batches
      */
-    public static String digest(String s, String algorithm) {
+    public static <S> List<List<S>> partition(List<S> l, int size) {
+        return Batches.partition(l, size);
+    }
 
-        try {
-            MessageDigest md = MessageDigest.getInstance(algorithm);
-            md.update(s.getBytes());
-            return Hex.encodeHexString(md.digest()).toLowerCase(Locale.getDefault());
-        } catch (NoSuchAlgorithmException ex) {
-            throw new ApplicationException(ex);
-        }
+    /**
+     * Splits the stream into batches of the given size (the last one can be smaller). The original stream
+     * is read lazily, when the next batch is requested.
+     *
+     * @param stream A stream
+     * @param size   The size of a batch
+     * @param <S>    The type of stream elements
+     * @return The stream of batches
+     */
+    public static <S> Stream<List<S>> partition(Stream<S> stream, int size) {
+        return Batches.partition(stream, size);
     }
 
     /**
-     * This method convert the given collection of objects to a set of some
-     * unique key attributes. It can be used to fast check the object collection
-     * consist of required ones using just their keys.
+     * Processes the items in batches with at most maxInFlight batches at the same time
+     * (see {@link BatchProcessor} for details).
+     *
+     * @param items       The items
+     * @param batchSize   The size of a batch
+     * @param maxInFlight The max number of batches processed at the same time
+     * @param action      The action for a batch
+     * @param <S>         The type of items
+     * @return The result with failed batches and the throughput
+     */
+    public static <S> BatchResult inBatches(Collection<S> items, int batchSize, int maxInFlight,
+                                            Consumer<? super List<S>> action) {
+        return new BatchProcessor(batchSize, maxInFlight).process(items, action);
+    }
+
+    /**
+     * A variant of {@link #extract(Collection, Function)} for long keys (like ids) which
+     * does not box the keys.
      *
      * @param coll     A collection
      * @param callback The callback for extracting the key from the given object
      * @param <S>      The type of the object in the collection
-     * @param <K>      The type of keys
-     * @return A set of key attributes
+     * @return A set of keys
      */
-    public static <S, K> Set<K> extract(Collection<S> coll, Function<S, K> callback) {
-        return set(coll.stream().map(callback));
+    public static <S> LongSet extractLongs(Collection<S> coll, ToLongFunction<? super S> callback) {
+        LongSet s = new LongSet(coll.size());
+        for (S o : coll) {
+            s.add(callback.applyAsLong(o));
+        }
+        return s;
     }
 
     /**
-     * Parses the string enum value as a enum but with suppressing all exceptions
+     * A variant of {@link #extract(Collection, Function)} for int keys which does not box the keys.
      *
-     * @param clazz    The enum class
-     * @param strValue The string value to parse
-     * @param <S>      The enum type
-     * @return The parsed value as an enum object
+     * @param coll     A collection
+     * @param callback The callback for extracting the key from the given object
+     * @param <S>      The type of the object in the collection
+     * @return A set of keys
      */
-    public static <S extends Enum<S>> S parseEnum(Class<S> clazz, String strValue) {
-        return ParseUtils.parseEnum(clazz, strValue);
+    public static <S> IntSet extractInts(Collection<S> coll, ToIntFunction<? super S> callback) {
+        IntSet s = new IntSet(coll.size());
+        for (S o : coll) {
+            s.add(callback.applyAsInt(o));
+        }
+        return s;
     }
 
     /**
-     * Parses a string via the provided regular expression and returns all found groups as a single string.
+     * Applies the callback to all items of the collection in parallel in the pool from
+     * {@link ParallelUtils#getPool()}. The results keep the order of the collection. Small
+     * collections are processed sequentially. Use {@link ParallelUtils#parallelMap(ForkJoinPool,
+     * int, Collection, Function, boolean)} to set the pool and the parallelism explicitly.
      *
-     * @param text    The text to parse
-     * @param pattern The pattern to use
-     * @param groups  The number of groups in the regular expression to extract. If
-     *                more than one group is used, all the groups will be combined
-     *                as a single string
-     * @return The resulted value
+     * @param coll     A collection
+     * @param callback The callback (must be stateless)
+     * @param <S>      The type of the object in the collection
+     * @param <R>      The type of results
+     * @return A new list of results
      */
-    public static String regexp(String text, String pattern, Integer... groups) {
-        return ParseUtils.regexp(text, pattern, groups);
+    public static <S, R> List<R> parallelMap(Collection<S> coll, Function<? super S, ? extends R> callback) {
+        ForkJoinPool pool = ParallelUtils.getPool();
+        return ParallelUtils.parallelMap(pool, pool.getParallelism(), coll, callback, true);
     }
 
     /**
-     * Parses a string via the provided regular expression and returns the resulted
-     * groups.
+     * A parallel variant of {@link #filter(Collection, Predicate)} which uses the pool from
+     * {@link ParallelUtils#getPool()}. The results keep the order of the collection.
      *
-     * @param text    The original text
-     * @param pattern The pattern to use
-     * @param groups  The number of groups in the pattern
-     * @return The list of found groups
+     * @param coll      A collection
+     * @param predicate The predicate (must be stateless)
+     * @param <S>       The type of the object in the collection
+     * @return A new list of matched items
      */
-    public static List<String> regexpGroups(String text, String pattern, Integer... groups) {
-        return ParseUtils.regexpGroups(text, pattern, groups);
+    public static <S> List<S> parallelFilter(Collection<S> coll, Predicate<? super S> predicate) {
+        ForkJoinPool pool = ParallelUtils.getPool();
+        return ParallelUtils.parallelFilter(pool, pool.getParallelism(), coll, predicate, true);
     }
 
     /**
-     * Parses the provided xml by the specified xpath query
+     * A parallel variant of {@link #extract(Collection, Function)} which uses the pool from
+     * {@link ParallelUtils#getPool()}.
      *
-     * @param xml   The XML to use specified as a string
-     * @param query The xpath query
-     * @return The result as a string
+     * @param coll     A collection
+     * @param callback The callback for extracting the key from the given object (must be stateless)
+     * @param <S>      The type of the object in the collection
+     * @param <K>      The type of keys
+     * @return A set of keys
      */
-    public static String xpath(String xml, String query) {
-        return ParseUtils.xpath(xml, query);
+    public static <S, K> Set<K> parallelExtract(Collection<S> coll, Function<? super S, ? extends K> callback) {
+        ForkJoinPool pool = ParallelUtils.getPool();
+        return ParallelUtils.parallelExtract(pool, pool.getParallelism(), coll, callback);
     }
 
     /**
@@ -1095,23 +1552,6 @@ public class BaseParent {
         return rs.replaceAll("'", "\"");
     }
 
-    /**
-     * Removes all white spaces and generates the XML.
-     *
-     * @param rawXML The XML file.
-     * @return The resulted XML.
-     */
-    public static String cleanUpXML(String rawXML) {
-        try {
-            XMLBuilder xmlResult = XMLBuilder.parse(rawXML);
-            StringWriter result = new StringWriter();
-            xmlResult.stripWhitespaceOnlyTextNodes().toWriter(result, new Properties());
-            return result.getBuffer().toString();
-        } catch (ParserConfigurationException | IOException | SAXException | TransformerException | XPathExpressionException ex) {
-            throw new ApplicationException(ex);
-        }
-    }
-
 
     /**
      * Shortens the given string to the string having the length that does not exceed the
@@ -1137,7 +1577,7 @@ public class BaseParent {
      * @return The resulted value of type R
      */
     public static <T, V, R> R extract(T model, Function<T, V> valueExtractor, Function<V, R> valueCallback) {
-        return ModelUtils.extractProperty(model, valueExtractor, valueCallback);
+        return nullSafe(model, d -> nullSafe(valueExtractor.apply(d), valueCallback).orElse(null)).orElse(null);
     }
 
     /**
@@ -1148,7 +1588,7 @@ public class BaseParent {
      * @return The list of string keys
      */
     public static <S extends Enum<S>> List<String> toStr(Collection<S> coll) {
-        return ModelUtils.enumToStr(coll);
+        return coll.stream().map(Enum::name).collect(Collectors.toList());
     }
 
     /**
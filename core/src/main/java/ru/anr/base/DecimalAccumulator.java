@@ -0,0 +1,110 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * A mutable container for summing {@link BigDecimal} values in streams (including parallel ones).
+ * While all values have the same non-negative scale and the sum fits into the long range,
+ * the sum is kept as a long unscaled value. Otherwise, it switches to {@link BigDecimal} addition.
+ * <p>
+ * The result is always equal to <code>reduce(BigDecimal.ZERO, BigDecimal::add)</code>.
+ * </p>
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+final class DecimalAccumulator {
+
+    /**
+     * The mark of the state when no values have been added yet
+     */
+    private static final int NO_SCALE = -1;
+
+    /**
+     * The unscaled sum
+     */
+    private long sum;
+
+    /**
+     * The common scale of all added values
+     */
+    private int scale = NO_SCALE;
+
+    /**
+     * The sum when the long unscaled sum is not possible anymore
+     */
+    private BigDecimal inflated;
+
+    /**
+     * Adds the value to the sum
+     *
+     * @param value The value to add
+     */
+    void add(BigDecimal value) {
+        if (inflated == null) {
+            int s = value.scale();
+            if (s == scale || (scale == NO_SCALE && s >= 0)) {
+                BigInteger u = value.unscaledValue();
+                if (u.bitLength() < Long.SIZE) {
+                    long v = u.longValue();
+                    long r = sum + v;
+                    if (((sum ^ r) & (v ^ r)) >= 0) {
+                        sum = r;
+                        scale = s;
+                        return;
+                    }
+                }
+            }
+            inflated = result();
+        }
+        inflated = inflated.add(value);
+    }
+
+    /**
+     * Merges the other partial sum into this one (used for parallel streams)
+     *
+     * @param other The other partial sum
+     */
+    void combine(DecimalAccumulator other) {
+        if (other.inflated == null && other.scale == NO_SCALE) {
+            return;
+        }
+        if (inflated == null && other.inflated == null) {
+            if (scale == NO_SCALE || scale == other.scale) {
+                long r = sum + other.sum;
+                if (((sum ^ r) & (other.sum ^ r)) >= 0) {
+                    sum = r;
+                    scale = other.scale;
+                    return;
+                }
+            }
+        }
+        inflated = result().add(other.result());
+    }
+
+    /**
+     * @return The resulted sum
+     */
+    BigDecimal result() {
+        if (inflated != null) {
+            return inflated;
+        }
+        return scale == NO_SCALE ? BigDecimal.ZERO : BigDecimal.valueOf(sum, scale);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base;
+
+import java.math.BigDecimal;
+
+/**
+ * The construction of {@link BigDecimal} values used by {@link CoreParent#d(String)},
+ * {@link CoreParent#d(double)} and {@link CoreParent#d(long, int)}. Frequent small
+ * whole values (0..{@link #MAX_CACHED} with scales 0..{@link #MAX_CACHED_SCALE}) are
+ * taken from a cache, simple strings and doubles are converted without the full parsing.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+final class DecimalCache {
+
+    /**
+     * The maximal whole value kept in the cache
+     */
+    static final int MAX_CACHED = 100;
+
+    /**
+     * The maximal scale of cached values
+     */
+    static final int MAX_CACHED_SCALE = 4;
+
+    /**
+     * The cached values: [scale][value]
+     */
+    private static final BigDecimal[][] CACHE = new BigDecimal[MAX_CACHED_SCALE + 1][MAX_CACHED + 1];
+
+    static {
+        for (int s = 0; s <= MAX_CACHED_SCALE; s++) {
+            for (int v = 0; v <= MAX_CACHED; v++) {
+                CACHE[s][v] = BigDecimal.valueOf(v * FixedDecimal.POWERS[s], s);
+            }
+        }
+    }
+
+    /**
+     * The max number of digits which surely fit into the long range
+     */
+    private static final int MAX_DIGITS = 18;
+
+    /**
+     * The maximal number of fraction digits for the fast conversion of doubles
+     */
+    private static final int MAX_DOUBLE_SCALE = 8;
+
+    /**
+     * Not used
+     */
+    private DecimalCache() {
+    }
+
+    /**
+     * Returns a decimal value for the given unscaled value and the scale
+     *
+     * @param unscaled The unscaled value
+     * @param scale    The scale
+     * @return The possibly cached value
+     */
+    static BigDecimal valueOf(long unscaled, int scale) {
+        if (unscaled >= 0 && scale >= 0 && scale <= MAX_CACHED_SCALE) {
+            long p = FixedDecimal.POWERS[scale];
+            if (unscaled % p == 0 && unscaled / p <= MAX_CACHED) {
+                return CACHE[scale][(int) (unscaled / p)];
+            }
+        }
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+
+    /**
+     * Parses the given string. Simple strings like '-123.45' are parsed directly,
+     * all others are given to {@link BigDecimal#BigDecimal(String)}.
+     *
+     * @param str The string
+     * @return The resulted decimal value
+     */
+    static BigDecimal parse(String str) {
+        int len = str.length();
+        int i = (len > 0 && (str.charAt(0) == '-' || str.charAt(0) == '+')) ? 1 : 0;
+        boolean negative = i == 1 && str.charAt(0) == '-';
+
+        long unscaled = 0L;
+        int digits = 0;
+        int dot = -1;
+        for (; i < len; i++) {
+            char c = str.charAt(i);
+            if (c >= '0' && c <= '9') {
+                unscaled = unscaled * 10 + (c - '0');
+                digits++;
+            } else if (c == '.' && dot < 0) {
+                dot = i;
+            } else {
+                digits = -1; // Exponents and other cases
+                break;
+            }
+        }
+        if (digits <= 0 || digits > MAX_DIGITS) {
+            return new BigDecimal(str);
+        }
+        return valueOf(negative ? -unscaled : unscaled, dot < 0 ? 0 : len - dot - 1);
+    }
+
+    /**
+     * Converts the double value to a decimal value exactly like <code>new BigDecimal(Double.toString(value))</code>.
+     * The values which {@link Double#toString(double)} prints in the plain notation and which have a few
+     * fraction digits are converted without the string.
+     *
+     * @param value The double value
+     * @return The resulted decimal value
+     */
+    static BigDecimal valueOf(double value) {
+        if (value == 0.0d) {
+            return CACHE[1][0];
+        }
+        double abs = Math.abs(value);
+        if (abs >= 1e-3 && abs < 1e7) {
+            /*
+             * For such values, the ulp is less than 10^-8, so there is only one candidate with
+             * the minimal number of fraction digits which gives the same double value back, and
+             * it is exactly what Double.toString() prints. The integer values get one zero digit ('2.0').
+             */
+            for (int s = 1; s <= MAX_DOUBLE_SCALE; s++) {
+                long u = Math.round(value * FixedDecimal.POWERS[s]);
+                if ((double) u / FixedDecimal.POWERS[s] == value) {
+                    return valueOf(u, s);
+                }
+            }
+        }
+        return new BigDecimal(Double.toString(value));
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base;
+
+import org.springframework.util.Assert;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits the logging of errors ignored by {@link CoreParent#runIgnored(java.util.function.Consumer, Object...)}
+ * and {@link CoreParent#getRunIgnored(java.util.function.Function, Object...)}. Limits are applied to each
+ * call site separately (a call site is identified by the class of the callback, which is unique for each lambda
+ * expression). Suppressed errors are counted, and the counter is reported with the next logged error
+ * of the same call site.
+ * <p>
+ * The modes are:
+ * <ul>
+ * <li>rate limited (the default, 10 errors per second with bursts of up to 20 errors): a token bucket which is
+ * implemented as a lock-free "virtual scheduling" algorithm over one atomic timestamp;</li>
+ * <li>sampled: each N-th error is logged;</li>
+ * <li>unlimited: all errors are logged.</li>
+ * </ul>
+ * No locks are used when an error is checked.
+ * <p>
+ * The static methods configure and use the global limiter of ignored errors (see {@link #global()}),
+ * other instances keep their own settings and counters.
+ * </p>
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public final class ErrorLogLimiter {
+
+    /**
+     * The result of {@link #tryAcquire(Class)} if the error must not be logged
+     */
+    public static final long SUPPRESSED = -1L;
+
+    /**
+     * The default number of errors per second
+     */
+    public static final double DEFAULT_RATE = 10.0;
+
+    /**
+     * The default max number of errors logged at once
+     */
+    public static final int DEFAULT_BURST = 20;
+
+    /**
+     * The settings
+     */
+    private static final class Limit {
+
+        /**
+         * The interval between tokens in nanoseconds (0 for sampling or no limits)
+         */
+        private final long interval;
+
+        /**
+         * The time which the bucket of tokens can be ahead of the current time
+         */
+        private final long tolerance;
+
+        /**
+         * Each N-th error is logged (1 means all errors)
+         */
+        private final long sample;
+
+        Limit(long interval, long tolerance, long sample) {
+            this.interval = interval;
+            this.tolerance = tolerance;
+            this.sample = sample;
+        }
+    }
+
+    /**
+     * The state of a call site
+     */
+    private static final class Site {
+
+        /**
+         * The theoretical time of the next allowed error (in nanoseconds)
+         */
+        private final AtomicLong next = new AtomicLong(Long.MIN_VALUE);
+
+        /**
+         * The number of errors (for sampling)
+         */
+        private final AtomicLong count = new AtomicLong();
+
+        /**
+         * The number of suppressed errors since the last logged one
+         */
+        private final LongAdder suppressed = new LongAdder();
+    }
+
+    /**
+     * The limiter used by {@link CoreParent#runIgnored(java.util.function.Consumer, Object...)}
+     */
+    private static final ErrorLogLimiter GLOBAL = new ErrorLogLimiter();
+
+    private final ClassValue<Site> sites = new ClassValue<>() {
+        @Override
+        protected Site computeValue(Class<?> type) {
+            return new Site();
+        }
+    };
+
+    /**
+     * The total number of suppressed errors
+     */
+    private final LongAdder totalSuppressed = new LongAdder();
+
+    private volatile Limit limit;
+
+    /**
+     * Creates a limiter with the default rate limits. Apart from the global limiter, separate
+     * instances are useful for limiting other kinds of errors and for tests.
+     */
+    public ErrorLogLimiter() {
+        setRate(DEFAULT_RATE, DEFAULT_BURST);
+    }
+
+    /**
+     * @return The global limiter of ignored errors
+     */
+    public static ErrorLogLimiter global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Limits the number of logged errors per call site of the global limiter with a token bucket
+     *
+     * @param perSecond The average number of errors per second
+     * @param burst     The max number of errors logged at once
+     */
+    public static void rateLimited(double perSecond, int burst) {
+        GLOBAL.setRate(perSecond, burst);
+    }
+
+    /**
+     * Logs each N-th error of a call site of the global limiter
+     *
+     * @param oneOf The sampling factor (N)
+     */
+    public static void sampled(int oneOf) {
+        GLOBAL.setSampling(oneOf);
+    }
+
+    /**
+     * Turns the limits of the global limiter off
+     */
+    public static void unlimited() {
+        GLOBAL.setUnlimited();
+    }
+
+    /**
+     * @return The total number of errors suppressed by the global limiter since the start
+     */
+    public static long getSuppressed() {
+        return GLOBAL.getSuppressedCount();
+    }
+
+    /**
+     * Checks whether an error of the call site can be logged by the global limiter
+     *
+     * @param site The class identifying the call site
+     * @return The number of errors suppressed since the previous logged error of the site, or
+     * {@link #SUPPRESSED} if this error must not be logged
+     */
+    public static long acquire(Class<?> site) {
+        return GLOBAL.tryAcquire(site, System.nanoTime());
+    }
+
+    /**
+     * Limits the number of logged errors per call site with a token bucket
+     *
+     * @param perSecond The average number of errors per second
+     * @param burst     The max number of errors logged at once
+     */
+    public void setRate(double perSecond, int burst) {
+        Assert.isTrue(perSecond > 0, "The rate must be positive");
+        Assert.isTrue(burst > 0, "The burst must be positive");
+        long interval = Math.max(1L, (long) (1e9 / perSecond));
+        limit = new Limit(interval, interval * (burst - 1), 1L);
+    }
+
+    /**
+     * Logs each N-th error of a call site
+     *
+     * @param oneOf The sampling factor (N)
+     */
+    public void setSampling(int oneOf) {
+        Assert.isTrue(oneOf > 0, "The sampling factor must be positive");
+        limit = new Limit(0L, 0L, oneOf);
+    }
+
+    /**
+     * Turns the limits off
+     */
+    public void setUnlimited() {
+        limit = new Limit(0L, 0L, 1L);
+    }
+
+    /**
+     * @return The total number of suppressed errors of this limiter
+     */
+    public long getSuppressedCount() {
+        return totalSuppressed.sum();
+    }
+
+    /**
+     * Checks whether an error of the call site can be logged
+     *
+     * @param site The class identifying the call site
+     * @return The number of errors suppressed since the previous logged error of the site, or
+     * {@link #SUPPRESSED} if this error must not be logged
+     */
+    public long tryAcquire(Class<?> site) {
+        return tryAcquire(site, System.nanoTime());
+    }
+
+    /**
+     * Checks whether an error of the call site can be logged at the given time
+     *
+     * @param site The class identifying the call site
+     * @param now  The current time in nanoseconds
+     * @return The number of suppressed errors or {@link #SUPPRESSED}
+     */
+    long tryAcquire(Class<?> site, long now) {
+
+        Limit l = limit;
+        Site s = sites.get(site);
+
+        boolean allowed;
+        if (l.interval > 0) {
+            allowed = tryTake(s.next, l, now);
+        } else {
+            allowed = l.sample == 1L || (s.count.getAndIncrement() % l.sample) == 0;
+        }
+
+        if (!allowed) {
+            s.suppressed.increment();
+            totalSuppressed.increment();
+            return SUPPRESSED;
+        }
+        return s.suppressed.sumThenReset();
+    }
+
+    private static boolean tryTake(AtomicLong next, Limit l, long now) {
+        while (true) {
+            long tat = next.get();
+            long base = (tat == Long.MIN_VALUE || tat - now < 0) ? now : tat;
+            if (base - now > l.tolerance) {
+                return false;
+            }
+            if (next.compareAndSet(tat, base + l.interval)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The catalog of error ids of {@link ApplicationException}s. For each id, it counts how many
+ * exceptions have been created and logged and remembers when the error was seen last time.
+ * The counters are updated automatically when an error id is set to an exception and when
+ * an ignored exception is logged by {@link CoreParent#runIgnored(java.util.function.Consumer, Object...)}.
+ * <p>
+ * Updates do not take locks: counters are {@link LongAdder}s and the last-seen time is written only
+ * if it has changed. The number of distinct ids is limited by {@link #MAX_IDS}, errors with other ids
+ * are counted under {@link #OTHER}.
+ * </p>
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public final class ErrorRegistry {
+
+    /**
+     * The max number of distinct error ids
+     */
+    public static final int MAX_IDS = 10_000;
+
+    /**
+     * The id for errors which do not fit into the registry
+     */
+    public static final String OTHER = "<other>";
+
+    /**
+     * Counters of an error id
+     */
+    private static final class Entry {
+
+        private final String id;
+        private final LongAdder created = new LongAdder();
+        private final LongAdder logged = new LongAdder();
+        private volatile long lastSeen;
+
+        Entry(String id) {
+            this.id = id;
+        }
+
+        void seen() {
+            long now = System.currentTimeMillis();
+            if (lastSeen != now) {
+                lastSeen = now;
+            }
+        }
+    }
+
+    /**
+     * A snapshot of the counters of an error id
+     */
+    public static final class ErrorStats {
+
+        private final String errorId;
+        private final long created;
+        private final long logged;
+        private final Instant lastSeen;
+
+        ErrorStats(String errorId, long created, long logged, Instant lastSeen) {
+            this.errorId = errorId;
+            this.created = created;
+            this.logged = logged;
+            this.lastSeen = lastSeen;
+        }
+
+        /**
+         * @return The error id
+         */
+        public String getErrorId() {
+            return errorId;
+        }
+
+        /**
+         * @return The number of created exceptions
+         */
+        public long getCreated() {
+            return created;
+        }
+
+        /**
+         * @return The number of logged exceptions
+         */
+        public long getLogged() {
+            return logged;
+        }
+
+        /**
+         * @return The last time when the error was created or logged (null, if never)
+         */
+        public Instant getLastSeen() {
+            return lastSeen;
+        }
+
+        @Override
+        public String toString() {
+            return errorId + ": created=" + created + ", logged=" + logged + ", lastSeen=" + lastSeen;
+        }
+    }
+
+    private static final ConcurrentMap<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled = true;
+
+    /**
+     * Not used
+     */
+    private ErrorRegistry() {
+    }
+
+    /**
+     * Turns the counting on or off
+     *
+     * @param value true to count errors
+     */
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    /**
+     * Returns the canonical instance of the error id, so equal ids share one string
+     *
+     * @param errorId The error id
+     * @return The canonical id (the same value if the registry is full or is turned off and the id
+     * has not been registered before)
+     */
+    public static String intern(String errorId) {
+        if (errorId == null) {
+            return null;
+        }
+        Entry e = enabled ? entry(errorId) : ENTRIES.get(errorId);
+        return e != null && e.id.equals(errorId) ? e.id : errorId;
+    }
+
+    /**
+     * Registers the creation of an exception with the error id
+     *
+     * @param errorId The error id (nothing is done for null)
+     */
+    public static void created(String errorId) {
+        if (enabled && errorId != null) {
+            Entry e = entry(errorId);
+            e.created.increment();
+            e.seen();
+        }
+    }
+
+    /**
+     * Registers the logging of an exception if it is an {@link ApplicationException} with an error id
+     *
+     * @param ex The exception
+     */
+    public static void logged(Throwable ex) {
+        if (enabled && ex instanceof ApplicationException) {
+            String errorId = ((ApplicationException) ex).getErrorId();
+            if (errorId != null) {
+                Entry e = entry(errorId);
+                e.logged.increment();
+                e.seen();
+            }
+        }
+    }
+
+    /**
+     * @return The counters of all error ids sorted by ids
+     */
+    public static List<ErrorStats> snapshot() {
+        List<ErrorStats> rs = new ArrayList<>(ENTRIES.size());
+        for (Entry e : ENTRIES.values()) {
+            rs.add(stats(e));
+        }
+        rs.sort(Comparator.comparing(ErrorStats::getErrorId));
+        return rs;
+    }
+
+    /**
+     * @param errorId The error id
+     * @return The counters of the error id or null, if the error has not been registered
+     */
+    public static ErrorStats get(String errorId) {
+        Entry e = errorId == null ? null : ENTRIES.get(errorId);
+        return e == null ? null : stats(e);
+    }
+
+    /**
+     * Removes all counters
+     */
+    public static void reset() {
+        ENTRIES.clear();
+    }
+
+    private static ErrorStats stats(Entry e) {
+        long seen = e.lastSeen;
+        return new ErrorStats(e.id, e.created.sum(), e.logged.sum(), seen == 0L ? null : Instant.ofEpochMilli(seen));
+    }
+
+    private static Entry entry(String errorId) {
+        Entry e = ENTRIES.get(errorId);
+        if (e == null) {
+            String id = ENTRIES.size() < MAX_IDS ? errorId : OTHER;
+            e = ENTRIES.computeIfAbsent(id, Entry::new);
+        }
+        return e;
+    }
+}
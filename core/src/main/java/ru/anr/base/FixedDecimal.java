@@ -0,0 +1,542 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base;
+
+import org.springframework.util.Assert;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * A compact immutable decimal value which keeps the unscaled value as a long number together with
+ * its scale. It is intended for hot money calculations where a lot of {@link BigDecimal} objects
+ * would be created otherwise.
+ * <p>
+ * All rounding operations use {@link RoundingMode#HALF_UP} exactly like {@link CoreParent#scale(BigDecimal, int)}
+ * and {@link CoreParent#div(BigDecimal, BigDecimal, int)} do. If the result of an operation does not fit
+ * into the long range, the value is transparently kept as a {@link BigDecimal}, so the results are always
+ * equal to the ones calculated with {@link BigDecimal}.
+ * </p>
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public final class FixedDecimal extends Number implements Comparable<FixedDecimal> {
+
+    // Serial ID
+    private static final long serialVersionUID = 5208763021462351408L;
+
+    /**
+     * The powers of ten which fit into the long range
+     */
+    static final long[] POWERS = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+            1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L,
+            100_000_000_000_000L, 1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L,
+            1_000_000_000_000_000_000L
+    };
+
+    /**
+     * The zero value with the zero scale
+     */
+    public static final FixedDecimal ZERO = new FixedDecimal(0L, 0);
+
+    /**
+     * The unscaled value (used only if the value is compact)
+     */
+    private final long unscaled;
+
+    /**
+     * The scale
+     */
+    private final int scale;
+
+    /**
+     * The fallback value when the value does not fit into the long range (null for compact values)
+     */
+    private final BigDecimal inflated;
+
+    /**
+     * Construction of a compact value
+     *
+     * @param unscaled The unscaled value
+     * @param scale    The scale
+     */
+    private FixedDecimal(long unscaled, int scale) {
+        this.unscaled = unscaled;
+        this.scale = scale;
+        this.inflated = null;
+    }
+
+    /**
+     * Construction of an inflated value
+     *
+     * @param value The decimal value which does not fit into the long range
+     */
+    private FixedDecimal(BigDecimal value) {
+        this.unscaled = 0L;
+        this.scale = value.scale();
+        this.inflated = value;
+    }
+
+    /**
+     * Creates a new value from the unscaled long value and the scale, i.e. of(12345, 2) means 123.45.
+     *
+     * @param unscaled The unscaled value
+     * @param scale    The scale
+     * @return The new value
+     */
+    public static FixedDecimal of(long unscaled, int scale) {
+        return (unscaled == 0L && scale == 0) ? ZERO : new FixedDecimal(unscaled, scale);
+    }
+
+    /**
+     * Creates a new value from the given {@link BigDecimal} keeping its scale
+     *
+     * @param value The decimal value
+     * @return The new value which is compact if the unscaled value fits into the long range
+     */
+    public static FixedDecimal of(BigDecimal value) {
+        Assert.notNull(value, "Value must not be null");
+        return value.unscaledValue().bitLength() < Long.SIZE ?
+                of(value.unscaledValue().longValue(), value.scale()) : new FixedDecimal(value);
+    }
+
+    /**
+     * Creates a new value from the given {@link BigDecimal} rounded to the specified scale
+     *
+     * @param value The decimal value
+     * @param scale The scale
+     * @return The new value
+     */
+    public static FixedDecimal of(BigDecimal value, int scale) {
+        return of(CoreParent.scale(value, scale));
+    }
+
+    /**
+     * Creates a new value from its string representation
+     *
+     * @param value The string value like '123.45'
+     * @return The new value
+     */
+    public static FixedDecimal of(String value) {
+        return of(new BigDecimal(value));
+    }
+
+    /**
+     * @return true, if the value is kept as a long number (not inflated to {@link BigDecimal})
+     */
+    public boolean isCompact() {
+        return inflated == null;
+    }
+
+    /**
+     * Returns the unscaled value as a long number.
+     *
+     * @return The unscaled value
+     * @throws ArithmeticException if the value does not fit into the long range
+     */
+    public long unscaledValue() {
+        if (inflated != null) {
+            throw new ArithmeticException("The value is out of the long range: " + inflated);
+        }
+        return unscaled;
+    }
+
+    /**
+     * @return The scale of the value
+     */
+    public int scale() {
+        return scale;
+    }
+
+    /**
+     * @return The signum of the value (-1, 0 or 1)
+     */
+    public int signum() {
+        return inflated == null ? Long.signum(unscaled) : inflated.signum();
+    }
+
+    /**
+     * Converts the value to {@link BigDecimal}
+     *
+     * @return The resulted decimal value having the same scale
+     */
+    public BigDecimal toBigDecimal() {
+        return inflated == null ? BigDecimal.valueOf(unscaled, scale) : inflated;
+    }
+
+    /**
+     * The addition. The scale of the result is the maximum of the both scales like {@link BigDecimal#add(BigDecimal)}.
+     *
+     * @param other The value to add
+     * @return The resulted sum
+     */
+    public FixedDecimal add(FixedDecimal other) {
+        if (inflated == null && other.inflated == null) {
+            try {
+                if (scale == other.scale) {
+                    return of(Math.addExact(unscaled, other.unscaled), scale);
+                }
+                int s = Math.max(scale, other.scale);
+                return of(Math.addExact(upscale(unscaled, s - scale), upscale(other.unscaled, s - other.scale)), s);
+            } catch (ArithmeticException ex) {
+                // Overflow, falling back to BigDecimal
+            }
+        }
+        return of(toBigDecimal().add(other.toBigDecimal()));
+    }
+
+    /**
+     * The subtraction. The scale of the result is the maximum of the both scales like
+     * {@link BigDecimal#subtract(BigDecimal)}.
+     *
+     * @param other The value to subtract
+     * @return The resulted difference
+     */
+    public FixedDecimal subtract(FixedDecimal other) {
+        if (inflated == null && other.inflated == null) {
+            try {
+                if (scale == other.scale) {
+                    return of(Math.subtractExact(unscaled, other.unscaled), scale);
+                }
+                int s = Math.max(scale, other.scale);
+                return of(Math.subtractExact(upscale(unscaled, s - scale), upscale(other.unscaled, s - other.scale)), s);
+            } catch (ArithmeticException ex) {
+                // Overflow, falling back to BigDecimal
+            }
+        }
+        return of(toBigDecimal().subtract(other.toBigDecimal()));
+    }
+
+    /**
+     * The exact multiplication. The scale of the result is the sum of the scales like
+     * {@link BigDecimal#multiply(BigDecimal)}.
+     *
+     * @param other The multiplier
+     * @return The resulted product
+     */
+    public FixedDecimal multiply(FixedDecimal other) {
+        if (inflated == null && other.inflated == null) {
+            try {
+                return of(Math.multiplyExact(unscaled, other.unscaled), Math.addExact(scale, other.scale));
+            } catch (ArithmeticException ex) {
+                // Overflow, falling back to BigDecimal
+            }
+        }
+        return of(toBigDecimal().multiply(other.toBigDecimal()));
+    }
+
+    /**
+     * The multiplication with rounding of the result to the given scale.
+     *
+     * @param other The multiplier
+     * @param scale The scale of the result
+     * @return The resulted product
+     */
+    public FixedDecimal multiply(FixedDecimal other, int scale) {
+        return multiply(other).setScale(scale);
+    }
+
+    /**
+     * The division with the given scale of the result, the same as {@link CoreParent#div(BigDecimal, BigDecimal, int)}.
+     *
+     * @param other The divisor
+     * @param scale The scale of the result
+     * @return The resulted quotient
+     */
+    public FixedDecimal divide(FixedDecimal other, int scale) {
+        if (inflated == null && other.inflated == null && other.unscaled != 0L) {
+            try {
+                // (a / 10^s1) / (b / 10^s2) = (a * 10^(scale - s1 + s2) / b) / 10^scale
+                int shift = Math.addExact(Math.subtractExact(scale, this.scale), other.scale);
+                long a = unscaled;
+                long b = other.unscaled;
+                if (shift >= 0) {
+                    a = upscale(a, shift);
+                } else {
+                    b = upscale(b, -shift);
+                }
+                if (b != Long.MIN_VALUE && !(a == Long.MIN_VALUE && b == -1L)) {
+                    return of(divideHalfUp(a, b), scale);
+                }
+            } catch (ArithmeticException ex) {
+                // Overflow, falling back to BigDecimal
+            }
+        }
+        return of(CoreParent.div(toBigDecimal(), other.toBigDecimal(), scale));
+    }
+
+    /**
+     * Sets the scale with the {@link RoundingMode#HALF_UP} rounding, the same as
+     * {@link CoreParent#scale(BigDecimal, int)}.
+     *
+     * @param newScale The new scale
+     * @return The value in the new scale
+     */
+    public FixedDecimal setScale(int newScale) {
+        if (newScale == scale) {
+            return this;
+        }
+        if (inflated == null) {
+            try {
+                if (newScale > scale) {
+                    return of(upscale(unscaled, newScale - scale), newScale);
+                }
+                int diff = scale - newScale;
+                if (diff < POWERS.length) {
+                    return of(divideHalfUp(unscaled, POWERS[diff]), newScale);
+                }
+            } catch (ArithmeticException ex) {
+                // Overflow, falling back to BigDecimal
+            }
+        }
+        return of(CoreParent.scale(toBigDecimal(), newScale));
+    }
+
+    /**
+     * @return The negated value
+     */
+    public FixedDecimal negate() {
+        if (inflated == null && unscaled != Long.MIN_VALUE) {
+            return of(-unscaled, scale);
+        }
+        return of(toBigDecimal().negate());
+    }
+
+    /**
+     * @return The absolute value
+     */
+    public FixedDecimal abs() {
+        return signum() < 0 ? negate() : this;
+    }
+
+    /**
+     * Compares the values numerically ignoring the scale like {@link BigDecimal#compareTo(BigDecimal)}
+     *
+     * @param other The value to compare with
+     * @return -1, 0 or 1 as this value is numerically less than, equal to, or greater than the other
+     */
+    @Override
+    public int compareTo(FixedDecimal other) {
+        if (inflated == null && other.inflated == null && scale == other.scale) {
+            return Long.compare(unscaled, other.unscaled);
+        }
+        return toBigDecimal().compareTo(other.toBigDecimal());
+    }
+
+    /**
+     * The values are equal only if they have the same value and scale like in {@link BigDecimal#equals(Object)}
+     *
+     * @param o The object to compare with
+     * @return true, if the values are equal
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FixedDecimal)) {
+            return false;
+        }
+        FixedDecimal other = (FixedDecimal) o;
+        if (inflated == null && other.inflated == null) {
+            return unscaled == other.unscaled && scale == other.scale;
+        }
+        return toBigDecimal().equals(other.toBigDecimal());
+    }
+
+    @Override
+    public int hashCode() {
+        return inflated == null ? 31 * Long.hashCode(unscaled) + scale : inflated.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toString();
+    }
+
+    @Override
+    public int intValue() {
+        return (int) longValue();
+    }
+
+    @Override
+    public long longValue() {
+        if (inflated == null && scale >= 0 && scale < POWERS.length) {
+            return unscaled / POWERS[scale];
+        }
+        return toBigDecimal().longValue();
+    }
+
+    @Override
+    public float floatValue() {
+        return (float) doubleValue();
+    }
+
+    @Override
+    public double doubleValue() {
+        // Both operands are exact doubles here, so the division is correctly rounded as in BigDecimal
+        if (inflated == null && scale >= 0 && scale < POWERS.length && Math.abs(unscaled) < (1L << 53)) {
+            return unscaled / (double) POWERS[scale];
+        }
+        return toBigDecimal().doubleValue();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    ///// Aggregates for primitive arrays
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Calculates the sum of the unscaled values having the same scale.
+     *
+     * @param values The unscaled values
+     * @param scale  The scale of all values
+     * @return The resulted sum in the same scale
+     */
+    public static FixedDecimal sum(long[] values, int scale) {
+        long acc = 0L;
+        for (int i = 0; i < values.length; i++) {
+            long v = values[i];
+            long r = acc + v;
+            if (((acc ^ r) & (v ^ r)) < 0) {
+                // Overflow, the rest is summed as BigDecimal
+                BigDecimal big = BigDecimal.valueOf(acc, scale);
+                for (int j = i; j < values.length; j++) {
+                    big = big.add(BigDecimal.valueOf(values[j], scale));
+                }
+                return of(big);
+            }
+            acc = r;
+        }
+        return of(acc, scale);
+    }
+
+    /**
+     * Calculates the sum of the given values
+     *
+     * @param values The values
+     * @return The resulted sum which has the maximum scale of the values or zero if there are no values
+     */
+    public static FixedDecimal sum(FixedDecimal... values) {
+        FixedDecimal rs = ZERO;
+        for (FixedDecimal v : values) {
+            rs = rs.add(v);
+        }
+        return rs;
+    }
+
+    /**
+     * Calculates the sum of pairwise products of the unscaled values (i.e. the total of quantity * price).
+     *
+     * @param a      The first array of unscaled values
+     * @param scaleA The scale of the first array
+     * @param b      The second array of unscaled values
+     * @param scaleB The scale of the second array
+     * @return The resulted sum with the scale scaleA + scaleB
+     */
+    public static FixedDecimal dot(long[] a, int scaleA, long[] b, int scaleB) {
+        Assert.isTrue(a.length == b.length, "Arrays must have the same length");
+
+        int scale = scaleA + scaleB;
+        long acc = 0L;
+        for (int i = 0; i < a.length; i++) {
+            try {
+                acc = Math.addExact(acc, Math.multiplyExact(a[i], b[i]));
+            } catch (ArithmeticException ex) {
+                // Overflow, the rest is calculated as BigDecimal
+                BigDecimal big = BigDecimal.valueOf(acc, scale);
+                for (int j = i; j < a.length; j++) {
+                    big = big.add(BigDecimal.valueOf(a[j], scaleA).multiply(BigDecimal.valueOf(b[j], scaleB)));
+                }
+                return of(big);
+            }
+        }
+        return of(acc, scale);
+    }
+
+    /**
+     * Converts the given decimal values to an array of unscaled values in the given scale
+     * (with the {@link RoundingMode#HALF_UP} rounding if required).
+     *
+     * @param values The decimal values
+     * @param scale  The scale
+     * @return The array of unscaled values
+     * @throws ArithmeticException if some value does not fit into the long range
+     */
+    public static long[] unscaled(BigDecimal[] values, int scale) {
+        long[] rs = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            rs[i] = of(values[i], scale).unscaledValue();
+        }
+        return rs;
+    }
+
+    /**
+     * Converts the given array of unscaled values to an array of {@link BigDecimal} values.
+     *
+     * @param values The unscaled values
+     * @param scale  The scale
+     * @return The array of decimal values
+     */
+    public static BigDecimal[] toBigDecimals(long[] values, int scale) {
+        BigDecimal[] rs = new BigDecimal[values.length];
+        for (int i = 0; i < values.length; i++) {
+            rs[i] = BigDecimal.valueOf(values[i], scale);
+        }
+        return rs;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Multiplies the value by 10^diff
+     *
+     * @param value The value
+     * @param diff  The power of ten (non-negative)
+     * @return The resulted value
+     * @throws ArithmeticException in case of the overflow
+     */
+    private static long upscale(long value, int diff) {
+        if (diff >= POWERS.length) {
+            if (value == 0L) {
+                return 0L;
+            }
+            throw new ArithmeticException("long overflow");
+        }
+        return Math.multiplyExact(value, POWERS[diff]);
+    }
+
+    /**
+     * The division of long numbers with the {@link RoundingMode#HALF_UP} rounding
+     *
+     * @param a The dividend
+     * @param b The divisor (not zero and not {@link Long#MIN_VALUE})
+     * @return The rounded quotient
+     */
+    static long divideHalfUp(long a, long b) {
+        long q = a / b;
+        long r = a % b;
+        if (r != 0L) {
+            long absR = Math.abs(r);
+            long absB = Math.abs(b);
+            if (absR >= absB - absR) {
+                q += ((a ^ b) < 0) ? -1 : 1;
+            }
+        }
+        return q;
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base;
+
+import org.springframework.util.Assert;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * The settings of parallel processing used by helpers of {@link CoreParent}. By default,
+ * parallel streams go to the common {@link ForkJoinPool}, but a dedicated pool can be set to
+ * avoid contention with other work in the common pool. Small inputs (see {@link #getThreshold()})
+ * are always processed sequentially.
+ * <p>
+ * The parallelMap/parallelFilter/parallelExtract helpers split a collection with its {@link Spliterator}
+ * into chunks and process the chunks by a limited number of tasks (the parallelism hint) in the given pool.
+ * If the order is requested, each chunk gets its own result which are concatenated in the encounter order,
+ * otherwise each task accumulates all its chunks into one result.
+ * </p>
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public final class ParallelUtils {
+
+    /**
+     * The default minimal size of an input for parallel processing
+     */
+    public static final int DEFAULT_THRESHOLD = 10_000;
+
+    /**
+     * The current minimal size of an input for parallel processing
+     */
+    private static volatile int threshold = DEFAULT_THRESHOLD;
+
+    /**
+     * The dedicated pool (null means the common pool)
+     */
+    private static volatile ForkJoinPool pool;
+
+    /**
+     * The number of chunks per task (more chunks give better balancing for uneven work)
+     */
+    private static final int CHUNKS_PER_TASK = 4;
+
+    /**
+     * Not used
+     */
+    private ParallelUtils() {
+    }
+
+    /**
+     * Sets the minimal size of an input which is processed in parallel
+     *
+     * @param size The size (use {@link Integer#MAX_VALUE} to turn the parallel processing off)
+     */
+    public static void setThreshold(int size) {
+        Assert.isTrue(size > 0, "The threshold must be positive");
+        threshold = size;
+    }
+
+    /**
+     * @return The minimal size of an input which is processed in parallel
+     */
+    public static int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Sets a dedicated pool for parallel processing
+     *
+     * @param forkJoinPool The pool or null to use the common pool
+     */
+    public static void setPool(ForkJoinPool forkJoinPool) {
+        pool = forkJoinPool;
+    }
+
+    /**
+     * @return The pool used for parallel processing
+     */
+    public static ForkJoinPool getPool() {
+        ForkJoinPool p = pool;
+        return p == null ? ForkJoinPool.commonPool() : p;
+    }
+
+    /**
+     * Checks whether an input of the given size is worth processing in parallel
+     *
+     * @param size The size of the input
+     * @return true, if the input should be processed in parallel
+     */
+    public static boolean isParallel(int size) {
+        return size >= threshold && getPool().getParallelism() > 1;
+    }
+
+    /**
+     * Runs the given task (usually, a terminal operation of a parallel stream) in the configured pool,
+     * so the stream is processed by the workers of this pool.
+     *
+     * @param task The task
+     * @param <T>  The type of the result
+     * @return The result of the task
+     */
+    public static <T> T run(Supplier<T> task) {
+        return run(getPool(), task);
+    }
+
+    /**
+     * Runs the given task (usually, a terminal operation of a parallel stream) in the given pool,
+     * so the stream is processed by the workers of this pool.
+     *
+     * @param forkJoinPool The pool
+     * @param task         The task
+     * @param <T>          The type of the result
+     * @return The result of the task
+     */
+    public static <T> T run(ForkJoinPool forkJoinPool, Supplier<T> task) {
+        // Parallel streams are executed in the current pool or in the common one
+        if (forkJoinPool == ForkJoinPool.commonPool() || ForkJoinTask.getPool() == forkJoinPool) {
+            return task.get();
+        }
+        return forkJoinPool.submit(task::get).join();
+    }
+
+    /**
+     * Applies the function to all elements of the collection in the given pool
+     *
+     * @param pool        The pool
+     * @param parallelism The max number of tasks working at the same time
+     * @param source      The source collection
+     * @param function    The function (must be stateless)
+     * @param ordered     true, if the results must be in the encounter order of the collection
+     * @param <S>         The type of elements
+     * @param <R>         The type of results
+     * @return The list of results
+     */
+    public static <S, R> List<R> parallelMap(ForkJoinPool pool, int parallelism, Collection<S> source,
+                                             Function<? super S, ? extends R> function, boolean ordered) {
+        return concat(process(pool, parallelism, source, ArrayList::new,
+                (List<R> rs, S o) -> rs.add(function.apply(o)), ordered));
+    }
+
+    /**
+     * Selects elements of the collection matching the predicate in the given pool
+     *
+     * @param pool        The pool
+     * @param parallelism The max number of tasks working at the same time
+     * @param source      The source collection
+     * @param predicate   The predicate (must be stateless)
+     * @param ordered     true, if the results must be in the encounter order of the collection
+     * @param <S>         The type of elements
+     * @return The list of matched elements
+     */
+    public static <S> List<S> parallelFilter(ForkJoinPool pool, int parallelism, Collection<S> source,
+                                             Predicate<? super S> predicate, boolean ordered) {
+        return concat(process(pool, parallelism, source, ArrayList::new,
+                (List<S> rs, S o) -> {
+                    if (predicate.test(o)) {
+                        rs.add(o);
+                    }
+                }, ordered));
+    }
+
+    /**
+     * Extracts a set of keys from elements of the collection in the given pool
+     * (like {@link CoreParent#extract(Collection, Function)}).
+     *
+     * @param pool        The pool
+     * @param parallelism The max number of tasks working at the same time
+     * @param source      The source collection
+     * @param callback    The callback extracting a key (must be stateless)
+     * @param <S>         The type of elements
+     * @param <K>         The type of keys
+     * @return The set of keys
+     */
+    public static <S, K> Set<K> parallelExtract(ForkJoinPool pool, int parallelism, Collection<S> source,
+                                                Function<? super S, ? extends K> callback) {
+        List<Set<K>> parts = process(pool, parallelism, source, HashSet::new,
+                (Set<K> rs, S o) -> rs.add(callback.apply(o)), false);
+        Set<K> rs = parts.get(0);
+        for (int i = 1; i < parts.size(); i++) {
+            rs.addAll(parts.get(i));
+        }
+        return rs;
+    }
+
+    private static <R> List<R> concat(List<List<R>> parts) {
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+        List<R> rs = new ArrayList<>(parts.stream().mapToInt(List::size).sum());
+        parts.forEach(rs::addAll);
+        return rs;
+    }
+
+    /**
+     * Accumulates elements of the collection into containers. Small collections (see {@link #getThreshold()})
+     * are processed sequentially in the current thread.
+     *
+     * @param pool        The pool
+     * @param parallelism The max number of tasks working at the same time
+     * @param source      The source collection
+     * @param container   The supplier of containers
+     * @param accumulator The accumulating function
+     * @param ordered     true, if there must be a container for each chunk in the encounter order,
+     *                    otherwise there is a container for each task
+     * @param <S>         The type of elements
+     * @param <A>         The type of containers
+     * @return The containers (at least one)
+     */
+    private static <S, A> List<A> process(ForkJoinPool pool, int parallelism, Collection<S> source,
+                                          Supplier<A> container, BiConsumer<A, S> accumulator, boolean ordered) {
+
+        int tasks = Math.min(parallelism, pool.getParallelism());
+        if (tasks <= 1 || source.size() < threshold) {
+            A rs = container.get();
+            for (S o : source) {
+                accumulator.accept(rs, o);
+            }
+            return Collections.singletonList(rs);
+        }
+
+        List<Spliterator<S>> chunks = split(source.spliterator(), tasks * CHUNKS_PER_TASK);
+        int n = chunks.size();
+        Object[] results = new Object[n];
+        AtomicInteger next = new AtomicInteger();
+
+        List<ForkJoinTask<A>> workers = new ArrayList<>();
+        for (int t = 0; t < Math.min(tasks, n); t++) {
+            workers.add(ForkJoinTask.adapt(() -> {
+                A rs = ordered ? null : container.get();
+                int i;
+                while ((i = next.getAndIncrement()) < n) {
+                    A part = ordered ? container.get() : rs;
+                    chunks.get(i).forEachRemaining(o -> accumulator.accept(part, o));
+                    results[i] = part;
+                }
+                return rs;
+            }));
+        }
+        run(pool, () -> {
+            ForkJoinTask.invokeAll(workers);
+            return null;
+        });
+
+        List<A> rs = new ArrayList<>(n);
+        if (ordered) {
+            for (Object o : results) {
+                @SuppressWarnings("unchecked")
+                A part = (A) o;
+                rs.add(part);
+            }
+        } else {
+            workers.forEach(w -> rs.add(w.join()));
+        }
+        return rs;
+    }
+
+    /**
+     * Splits the spliterator into chunks keeping the encounter order of the chunks
+     *
+     * @param spliterator The original spliterator
+     * @param max         The max number of chunks
+     * @param <S>         The type of elements
+     * @return The chunks
+     */
+    private static <S> List<Spliterator<S>> split(Spliterator<S> spliterator, int max) {
+        List<Spliterator<S>> chunks = new ArrayList<>(max);
+        chunks.add(spliterator);
+        boolean split = true;
+        while (split && chunks.size() < max) {
+            split = false;
+            for (int i = 0; i < chunks.size() && chunks.size() < max; i++) {
+                Spliterator<S> prefix = chunks.get(i).trySplit(); // The prefix goes before the rest
+                if (prefix != null) {
+                    chunks.add(i++, prefix);
+                    split = true;
+                }
+            }
+        }
+        return chunks;
+    }
+}
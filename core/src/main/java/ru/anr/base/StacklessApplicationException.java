@@ -0,0 +1,151 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base;
+
+import org.springframework.util.Assert;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A lightweight {@link ApplicationException} without the stack trace. It is intended for
+ * errors which are thrown very often and are expected by callers (like validation failures):
+ * filling the stack trace takes most of the time of creating an exception. Such exceptions
+ * are never logged with the full stack ({@link #isLogFullStack()} is false).
+ * <p>
+ * For errors with a fixed id and message, a preallocated shared instance can be used
+ * (see {@link #cached(String, String)}). Shared instances cannot be changed: the error id is fixed
+ * and the stack trace is always empty.
+ * Each call of {@link #cached(String, String)} is counted in {@link ErrorRegistry} as a new error.
+ * As the base {@link Throwable} always allows suppressed exceptions, shared instances must not
+ * be thrown from try-with-resources blocks where suppressed exceptions could be added to them.
+ * </p>
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public class StacklessApplicationException extends ApplicationException {
+
+    // Serial ID
+    private static final long serialVersionUID = 3356482398106572861L;
+
+    /**
+     * Shared instances by error ids
+     */
+    private static final ConcurrentMap<String, StacklessApplicationException> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * true, if the instance is shared
+     */
+    private final boolean shared;
+
+    /**
+     * Construction of an exception instance
+     *
+     * @param msg An error message
+     */
+    public StacklessApplicationException(String msg) {
+        this(msg, null, null, false);
+    }
+
+    /**
+     * Construction of an exception instance with an error id
+     *
+     * @param msg     An error message
+     * @param errorId The code of the error
+     */
+    public StacklessApplicationException(String msg, String errorId) {
+        this(msg, errorId, null, false);
+    }
+
+    /**
+     * Construction of an exception instance with the root exception
+     *
+     * @param msg   An error message
+     * @param cause The root exception
+     */
+    public StacklessApplicationException(String msg, Throwable cause) {
+        this(msg, null, cause, false);
+    }
+
+    private StacklessApplicationException(String msg, String errorId, Throwable cause, boolean shared) {
+        super(msg, cause, false);
+        this.shared = shared;
+        if (shared) {
+            assignErrorId(errorId); // Registered on each call of cached()
+        } else if (errorId != null) {
+            super.setErrorId(errorId);
+        }
+    }
+
+    /**
+     * Returns a shared instance for the given error id. The instance is created with the first
+     * call and the message from this call.
+     *
+     * @param errorId The code of the error (required)
+     * @param msg     The message
+     * @return The shared exception
+     */
+    public static StacklessApplicationException cached(String errorId, String msg) {
+        Assert.notNull(errorId, "Error id must not be null");
+        StacklessApplicationException ex = CACHE.get(errorId);
+        if (ex == null) {
+            ex = CACHE.computeIfAbsent(errorId, id -> new StacklessApplicationException(msg, id, null, true));
+        }
+        ErrorRegistry.created(errorId);
+        return ex;
+    }
+
+    /**
+     * The stack trace is not filled
+     *
+     * @return This exception
+     */
+    @Override
+    public Throwable fillInStackTrace() {
+        return this;
+    }
+
+    /**
+     * Ignored for shared instances, as all their users would see the stack trace. The other state of
+     * {@link Throwable} is protected as follows: {@link #initCause(Throwable)} fails for shared instances,
+     * as they are created with an explicit (null) cause, while {@link #addSuppressed(Throwable)} is final
+     * and cannot be blocked (see the notes of the class).
+     *
+     * @param stackTrace The stack trace
+     */
+    @Override
+    public void setStackTrace(StackTraceElement[] stackTrace) {
+        if (!shared) {
+            super.setStackTrace(stackTrace);
+        }
+    }
+
+    /**
+     * @return true, if the instance is a shared one
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
+    @Override
+    public void setErrorId(String errorId) {
+        if (shared) {
+            throw new UnsupportedOperationException("The error id of a shared exception cannot be changed");
+        }
+        super.setErrorId(errorId);
+    }
+}
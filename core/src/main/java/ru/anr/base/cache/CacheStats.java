@@ -0,0 +1,96 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base.cache;
+
+/**
+ * A snapshot of the statistics of a {@link Memoizer}.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public final class CacheStats {
+
+    private final long hits;
+    private final long misses;
+    private final long loadFailures;
+    private final long totalLoadTime;
+    private final long evictions;
+
+    CacheStats(long hits, long misses, long loadFailures, long totalLoadTime, long evictions) {
+        this.hits = hits;
+        this.misses = misses;
+        this.loadFailures = loadFailures;
+        this.totalLoadTime = totalLoadTime;
+        this.evictions = evictions;
+    }
+
+    /**
+     * @return The number of calls which returned a cached value (or waited for a value being loaded
+     * by another thread)
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return The number of calls which loaded a value
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return The number of loads finished with an exception
+     */
+    public long getLoadFailures() {
+        return loadFailures;
+    }
+
+    /**
+     * @return The total time spent in loading values (in nanoseconds)
+     */
+    public long getTotalLoadTime() {
+        return totalLoadTime;
+    }
+
+    /**
+     * @return The number of values evicted because of the size limit
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return The ratio of hits to all calls (1.0 if there were no calls)
+     */
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 1.0 : (double) hits / total;
+    }
+
+    /**
+     * @return The average time of loading a value (in nanoseconds)
+     */
+    public double getAverageLoadTime() {
+        return misses == 0 ? 0.0 : (double) totalLoadTime / misses;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d, misses=%d, failures=%d, evictions=%d, hitRate=%.3f, avgLoad=%.0f ns",
+                hits, misses, loadFailures, evictions, getHitRate(), getAverageLoadTime());
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * A policy which decides what keys must be evicted from a size-bounded cache. Policies
+ * are not thread-safe, the cache calls them under its lock.
+ *
+ * @param <K> The type of keys
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+interface EvictionPolicy<K> {
+
+    /**
+     * Records an access to a key which is in the cache
+     *
+     * @param key The key
+     */
+    void onAccess(K key);
+
+    /**
+     * Records a new key and evicts keys if the cache is full
+     *
+     * @param key     The key
+     * @param evictor The callback removing an evicted key from the cache
+     */
+    void onInsert(K key, Consumer<K> evictor);
+
+    /**
+     * Forgets a key removed from the cache
+     *
+     * @param key The key
+     */
+    void onRemove(K key);
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base.cache;
+
+/**
+ * An approximate counter of key frequencies (a count-min sketch with 4-bit counters).
+ * When the number of increments reaches the sample size, all counters are halved, so
+ * the sketch forgets the old history. Not thread-safe.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+final class FrequencySketch {
+
+    /**
+     * The number of hash functions (rows)
+     */
+    private static final int DEPTH = 4;
+
+    /**
+     * The max value of a counter
+     */
+    private static final int MAX_COUNT = 15;
+
+    /**
+     * Seeds for the hash functions
+     */
+    private static final int[] SEEDS = {0x97cb3127, 0xb4b82e3d, 0xe7e9c3b5, 0x85ebca6b};
+
+    /**
+     * Counters: two 4-bit counters per byte, a row after a row
+     */
+    private final byte[] table;
+
+    /**
+     * The mask for a counter index within a row
+     */
+    private final int mask;
+
+    /**
+     * The number of increments before the counters are halved
+     */
+    private final int sampleSize;
+
+    /**
+     * The number of increments since the last halving
+     */
+    private int increments;
+
+    /**
+     * Construction
+     *
+     * @param maxSize The max size of the cache
+     */
+    FrequencySketch(int maxSize) {
+        int width = Integer.highestOneBit(Math.max(maxSize, 8) * 2 - 1) * 2; // A power of two >= 2 * maxSize
+        this.mask = width - 1;
+        this.table = new byte[DEPTH * width / 2];
+        this.sampleSize = 10 * Math.max(maxSize, 8);
+    }
+
+    /**
+     * @param key The key
+     * @return The estimated frequency of the key (0..15)
+     */
+    int frequency(Object key) {
+        int h = spread(key.hashCode());
+        int min = MAX_COUNT;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, get(index(h, row)));
+        }
+        return min;
+    }
+
+    /**
+     * Increments the counters of the key
+     *
+     * @param key The key
+     */
+    void increment(Object key) {
+        int h = spread(key.hashCode());
+        boolean added = false;
+        for (int row = 0; row < DEPTH; row++) {
+            int i = index(h, row);
+            int c = get(i);
+            if (c < MAX_COUNT) {
+                set(i, c + 1);
+                added = true;
+            }
+        }
+        if (added && ++increments >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Halves all counters
+     */
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (byte) ((table[i] >>> 1) & 0x77);
+        }
+        increments /= 2;
+    }
+
+    private int index(int h, int row) {
+        int x = (h ^ SEEDS[row]) * SEEDS[(row + 1) % DEPTH];
+        return row * (mask + 1) + ((x ^ (x >>> 16)) & mask);
+    }
+
+    private int get(int i) {
+        return (table[i >>> 1] >>> ((i & 1) << 2)) & 0xF;
+    }
+
+    private void set(int i, int value) {
+        int shift = (i & 1) << 2;
+        table[i >>> 1] = (byte) ((table[i >>> 1] & ~(0xF << shift)) | (value << shift));
+    }
+
+    private static int spread(int h) {
+        int x = h * 0x9E3779B9;
+        return x ^ (x >>> 16);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.Consumer;
+
+/**
+ * The least recently used key is evicted.
+ *
+ * @param <K> The type of keys
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+final class LruPolicy<K> implements EvictionPolicy<K> {
+
+    /**
+     * The keys in the access order (the eldest first)
+     */
+    private final LinkedHashMap<K, Boolean> keys = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The max number of keys
+     */
+    private final int maxSize;
+
+    LruPolicy(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void onAccess(K key) {
+        keys.get(key);
+    }
+
+    @Override
+    public void onInsert(K key, Consumer<K> evictor) {
+        keys.put(key, Boolean.TRUE);
+        Iterator<K> it = keys.keySet().iterator();
+        while (keys.size() > maxSize) {
+            K eldest = it.next();
+            it.remove();
+            evictor.accept(eldest);
+        }
+    }
+
+    @Override
+    public void onRemove(K key) {
+        keys.remove(key);
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base.cache;
+
+import ru.anr.base.ApplicationException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * A thread-safe caching wrapper of a function. The function must be pure (the result depends only
+ * on the argument) and must not call the same memoizer for the same argument.
+ * <p>
+ * Concurrent calls with the same argument compute the value only once: the first call loads
+ * the value, other calls wait for it (single-flight loading). A failed load is not cached.
+ * Values can expire after the given time since loading. The number of values can be limited:
+ * the least recently used values ({@link Eviction#LRU}) or the least frequently used ones
+ * ({@link Eviction#TINY_LFU}) are evicted. Accesses to cached values are recorded in a lossy
+ * buffer, so cache hits do not wait for the lock of the eviction policy.
+ * </p>
+ *
+ * @param <K> The type of arguments
+ * @param <V> The type of results
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public final class Memoizer<K, V> implements Function<K, V> {
+
+    /**
+     * Eviction policies
+     */
+    public enum Eviction {
+        /**
+         * The least recently used value is evicted
+         */
+        LRU,
+        /**
+         * The W-TinyLFU policy: a new value replaces a cached one only if it is used more often
+         */
+        TINY_LFU
+    }
+
+    /**
+     * The key used for null arguments
+     */
+    private static final Object NULL_KEY = new Object();
+
+    /**
+     * The size of the buffer of accesses (a power of two)
+     */
+    private static final int READ_BUFFER_SIZE = 64;
+
+    /**
+     * A cached value (or a value being loaded)
+     *
+     * @param <V> The type of the value
+     */
+    private static final class Node<V> {
+
+        private final CompletableFuture<V> value = new CompletableFuture<>();
+        private final long loaded;
+
+        Node(long loaded) {
+            this.loaded = loaded;
+        }
+    }
+
+    private final Function<K, V> function;
+    private final ConcurrentHashMap<Object, Node<V>> map = new ConcurrentHashMap<>();
+
+    /**
+     * The eviction policy (null for an unbounded cache)
+     */
+    private final EvictionPolicy<Object> policy;
+    private final ReentrantLock policyLock = new ReentrantLock();
+
+    private final AtomicReferenceArray<Object> readBuffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+    private final AtomicLong reads = new AtomicLong();
+
+    /**
+     * The time to live in nanoseconds (0 means infinite)
+     */
+    private final long ttl;
+    private final LongSupplier ticker;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder loadTime = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates an unbounded memoizer without expiration
+     *
+     * @param function The function to cache
+     */
+    public Memoizer(Function<K, V> function) {
+        this(function, 0, Eviction.LRU, null);
+    }
+
+    /**
+     * Creates a memoizer
+     *
+     * @param function The function to cache
+     * @param maxSize  The max number of cached values (0 means unbounded)
+     * @param eviction The eviction policy for a bounded cache
+     * @param ttl      The time to live of a value since loading (null means infinite)
+     */
+    public Memoizer(Function<K, V> function, int maxSize, Eviction eviction, Duration ttl) {
+        this(function, maxSize, eviction, ttl, System::nanoTime);
+    }
+
+    /**
+     * Creates a memoizer with a custom time source (for tests)
+     *
+     * @param function The function to cache
+     * @param maxSize  The max number of cached values (0 means unbounded)
+     * @param eviction The eviction policy for a bounded cache
+     * @param ttl      The time to live of a value since loading (null means infinite)
+     * @param ticker   The source of time in nanoseconds
+     */
+    Memoizer(Function<K, V> function, int maxSize, Eviction eviction, Duration ttl, LongSupplier ticker) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("The max size must not be negative: " + maxSize);
+        }
+        this.function = function;
+        this.policy = maxSize == 0 ? null :
+                (eviction == Eviction.TINY_LFU ? new TinyLfuPolicy<>(maxSize) : new LruPolicy<>(maxSize));
+        this.ttl = ttl == null ? 0L : ttl.toNanos();
+        this.ticker = ticker;
+    }
+
+    @Override
+    public V apply(K argument) {
+
+        Object key = argument == null ? NULL_KEY : argument;
+        long now = ttl == 0L ? 0L : ticker.getAsLong();
+
+        Node<V> node = map.get(key);
+        if (node != null && !isExpired(node, now)) {
+            hits.increment();
+            recordAccess(key);
+            return await(node);
+        }
+
+        Node<V> created = new Node<>(now);
+        Node<V> current = map.compute(key, (k, old) -> old == null || isExpired(old, now) ? created : old);
+        if (current != created) {
+            hits.increment(); // Loaded or being loaded by another thread
+            recordAccess(key);
+            return await(current);
+        }
+
+        misses.increment();
+        long started = System.nanoTime();
+        V value;
+        try {
+            value = function.apply(argument);
+        } catch (RuntimeException | Error e) {
+            loadFailures.increment();
+            map.remove(key, created);
+            created.value.completeExceptionally(e);
+            throw e;
+        } finally {
+            loadTime.add(System.nanoTime() - started);
+        }
+        created.value.complete(value);
+
+        if (policy != null) {
+            policyLock.lock();
+            try {
+                drainReads();
+                policy.onInsert(key, this::evict);
+            } finally {
+                policyLock.unlock();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Removes the cached value for the argument
+     *
+     * @param argument The argument
+     */
+    public void invalidate(K argument) {
+        Object key = argument == null ? NULL_KEY : argument;
+        if (map.remove(key) != null && policy != null) {
+            policyLock.lock();
+            try {
+                policy.onRemove(key);
+            } finally {
+                policyLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Removes all cached values. The statistics are kept.
+     */
+    public void invalidateAll() {
+        if (policy == null) {
+            map.clear();
+        } else {
+            policyLock.lock();
+            try {
+                map.keySet().forEach(k -> {
+                    map.remove(k);
+                    policy.onRemove(k);
+                });
+            } finally {
+                policyLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * @return The number of cached values (including expired ones which have not been removed yet)
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * @return A snapshot of the statistics
+     */
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), loadFailures.sum(), loadTime.sum(), evictions.sum());
+    }
+
+    private boolean isExpired(Node<V> node, long now) {
+        return ttl != 0L && node.value.isDone() && now - node.loaded >= ttl;
+    }
+
+    private void evict(Object key) {
+        if (map.remove(key) != null) {
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Records an access for the eviction policy. The buffer is lossy: a slot can be overwritten
+     * before it is drained, which only makes the policy a bit less precise.
+     *
+     * @param key The key
+     */
+    private void recordAccess(Object key) {
+        if (policy != null) {
+            long n = reads.getAndIncrement();
+            readBuffer.lazySet((int) (n & (READ_BUFFER_SIZE - 1)), key);
+            if ((n & (READ_BUFFER_SIZE / 4 - 1)) == 0 && policyLock.tryLock()) {
+                try {
+                    drainReads();
+                } finally {
+                    policyLock.unlock();
+                }
+            }
+        }
+    }
+
+    private void drainReads() {
+        for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+            Object key = readBuffer.getAndSet(i, null);
+            if (key != null && map.containsKey(key)) {
+                policy.onAccess(key);
+            }
+        }
+    }
+
+    private static <V> V await(Node<V> node) {
+        try {
+            return node.value.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new ApplicationException(cause);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base.cache;
+
+import java.util.LinkedHashMap;
+import java.util.function.Consumer;
+
+/**
+ * The W-TinyLFU policy: new keys go to a small LRU window (1% of the cache), and the rest
+ * of the cache is a segmented LRU (a probation segment and a protected segment of 80%).
+ * A key leaving the window is admitted to the main part only if it is used more often
+ * than the key which would be evicted instead of it. Frequencies are estimated by
+ * a {@link FrequencySketch}. Such a policy resists scans of one-time keys which flush
+ * a pure LRU cache.
+ *
+ * @param <K> The type of keys
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+final class TinyLfuPolicy<K> implements EvictionPolicy<K> {
+
+    private final LinkedHashMap<K, Boolean> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, Boolean> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, Boolean> protectedKeys = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final FrequencySketch sketch;
+
+    private final int windowMax;
+    private final int mainMax;
+    private final int protectedMax;
+
+    TinyLfuPolicy(int maxSize) {
+        this.windowMax = Math.max(1, maxSize / 100);
+        this.mainMax = Math.max(0, maxSize - windowMax);
+        this.protectedMax = mainMax * 4 / 5;
+        this.sketch = new FrequencySketch(maxSize);
+    }
+
+    @Override
+    public void onAccess(K key) {
+        sketch.increment(key);
+        if (window.get(key) == null && protectedKeys.get(key) == null && probation.remove(key) != null) {
+            // The second hit: promoting to the protected segment
+            protectedKeys.put(key, Boolean.TRUE);
+            if (protectedKeys.size() > protectedMax) {
+                K demoted = eldest(protectedKeys);
+                protectedKeys.remove(demoted);
+                probation.put(demoted, Boolean.TRUE);
+            }
+        }
+    }
+
+    @Override
+    public void onInsert(K key, Consumer<K> evictor) {
+
+        if (window.containsKey(key) || probation.containsKey(key) || protectedKeys.containsKey(key)) {
+            onAccess(key);
+            return;
+        }
+        sketch.increment(key);
+        window.put(key, Boolean.TRUE);
+        if (window.size() <= windowMax) {
+            return;
+        }
+
+        K candidate = eldest(window);
+        window.remove(candidate);
+        if (probation.size() + protectedKeys.size() < mainMax) {
+            probation.put(candidate, Boolean.TRUE);
+            return;
+        }
+
+        LinkedHashMap<K, Boolean> segment = probation.isEmpty() ? protectedKeys : probation;
+        K victim = segment.isEmpty() ? null : eldest(segment);
+        if (victim != null && sketch.frequency(candidate) > sketch.frequency(victim)) {
+            segment.remove(victim);
+            probation.put(candidate, Boolean.TRUE);
+            evictor.accept(victim);
+        } else {
+            evictor.accept(candidate);
+        }
+    }
+
+    @Override
+    public void onRemove(K key) {
+        if (window.remove(key) == null && probation.remove(key) == null) {
+            protectedKeys.remove(key);
+        }
+    }
+
+    private static <K> K eldest(LinkedHashMap<K, Boolean> segment) {
+        return segment.keySet().iterator().next();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base.collections;
+
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy partitioning of lists, iterators and streams into batches of a fixed size (the last
+ * batch can be smaller). Batches of a list are views ({@link List#subList(int, int)}) of the list,
+ * batches of an iterator or a stream are new lists which are filled only when the next batch
+ * is requested.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public final class Batches {
+
+    /**
+     * Not used
+     */
+    private Batches() {
+    }
+
+    /**
+     * Splits the list into batches without copying its elements
+     *
+     * @param list The list
+     * @param size The size of a batch
+     * @param <T>  The type of elements
+     * @return The list of batches
+     */
+    public static <T> List<List<T>> partition(List<T> list, int size) {
+        checkSize(size);
+        return new AbstractList<>() {
+            @Override
+            public List<T> get(int index) {
+                int from = index * size;
+                if (index < 0 || from >= list.size()) {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+                }
+                return list.subList(from, Math.min(from + size, list.size()));
+            }
+
+            @Override
+            public int size() {
+                return (list.size() + size - 1) / size;
+            }
+        };
+    }
+
+    /**
+     * Splits the elements of the iterator into batches. The iterator is read only when the next
+     * batch is requested.
+     *
+     * @param iterator The iterator
+     * @param size     The size of a batch
+     * @param <T>      The type of elements
+     * @return The iterator of batches
+     */
+    public static <T> Iterator<List<T>> partition(Iterator<T> iterator, int size) {
+        checkSize(size);
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public List<T> next() {
+                if (!iterator.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<T> batch = new ArrayList<>(size);
+                while (batch.size() < size && iterator.hasNext()) {
+                    batch.add(iterator.next());
+                }
+                return batch;
+            }
+        };
+    }
+
+    /**
+     * Splits the elements of the stream into batches. The result is a sequential stream which
+     * reads the original stream lazily.
+     *
+     * @param stream The stream
+     * @param size   The size of a batch
+     * @param <T>    The type of elements
+     * @return The stream of batches
+     */
+    public static <T> Stream<List<T>> partition(Stream<T> stream, int size) {
+        Iterator<List<T>> it = partition(stream.iterator(), size);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(it, Spliterator.ORDERED | Spliterator.NONNULL),
+                false).onClose(stream::close);
+    }
+
+    private static void checkSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("The batch size must be positive: " + size);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base.collections;
+
+/**
+ * Common functions for open addressing hash tables of primitive values.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+final class HashUtils {
+
+    /**
+     * The default expected number of elements
+     */
+    static final int DEFAULT_EXPECTED = 16;
+
+    /**
+     * The load factor of tables. Linear probing works well while tables are not too full.
+     */
+    static final float LOAD_FACTOR = 0.75f;
+
+    /**
+     * The maximal size of a table (a power of two)
+     */
+    static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * The golden ratio constant for the multiplicative hashing
+     */
+    private static final long PHI = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Not used
+     */
+    private HashUtils() {
+    }
+
+    /**
+     * Spreads the bits of a long key (ids are often sequential)
+     *
+     * @param key The key
+     * @return The hash code
+     */
+    static int mix(long key) {
+        long h = key * PHI;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Spreads the bits of an int key
+     *
+     * @param key The key
+     * @return The hash code
+     */
+    static int mix(int key) {
+        int h = key * (int) PHI;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Calculates the size of a table (a power of two) for the expected number of elements
+     *
+     * @param expected The expected number of elements
+     * @return The table size
+     */
+    static int tableSize(int expected) {
+        long required = (long) Math.ceil(Math.max(expected, 2) / (double) LOAD_FACTOR);
+        if (required >= MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        return Integer.highestOneBit((int) required - 1) << 1;
+    }
+
+    /**
+     * @param capacity The table size
+     * @return The max number of elements before the table grows
+     */
+    static int threshold(int capacity) {
+        return capacity == MAX_CAPACITY ? capacity - 1 : (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Checks whether a new element can be added to the table. A table of the max size cannot grow,
+     * so it takes elements only while there are free slots left for linear probing.
+     *
+     * @param size      The current number of elements
+     * @param threshold The current threshold of the table
+     * @param capacity  The table size
+     * @return true, if the table is full
+     */
+    static boolean isFull(int size, int threshold, int capacity) {
+        return capacity == MAX_CAPACITY && size >= threshold;
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base.collections;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * A growable list of primitive int values without boxing. It keeps the values in
+ * a plain array, so a list of one million ids takes about 4 MB instead of about
+ * 20 MB for {@link java.util.ArrayList} of {@link Integer} objects.
+ * <p>
+ * The list is not thread-safe.
+ * </p>
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public final class IntList {
+
+    /**
+     * The default initial capacity
+     */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * The values
+     */
+    private int[] values;
+
+    /**
+     * The number of values
+     */
+    private int size;
+
+    /**
+     * Creates an empty list with the default capacity
+     */
+    public IntList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list with the given capacity
+     *
+     * @param capacity The initial capacity
+     */
+    public IntList(int capacity) {
+        this.values = new int[Math.max(capacity, 0)];
+    }
+
+    /**
+     * Creates a list with the given values
+     *
+     * @param array The values
+     * @return The new list
+     */
+    public static IntList of(int... array) {
+        IntList l = new IntList(array.length);
+        l.addAll(array);
+        return l;
+    }
+
+    /**
+     * Adds a value to the end of the list
+     *
+     * @param value The value
+     */
+    public void add(int value) {
+        if (size == values.length) {
+            grow(size + 1);
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Adds all the given values to the end of the list
+     *
+     * @param array The values
+     */
+    public void addAll(int... array) {
+        if (size + array.length > values.length) {
+            grow(size + array.length);
+        }
+        System.arraycopy(array, 0, values, size, array.length);
+        size += array.length;
+    }
+
+    /**
+     * @param index The index
+     * @return The value at the index
+     */
+    public int get(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    /**
+     * Replaces the value at the index
+     *
+     * @param index The index
+     * @param value The new value
+     * @return The previous value
+     */
+    public int set(int index, int value) {
+        checkIndex(index);
+        int old = values[index];
+        values[index] = value;
+        return old;
+    }
+
+    /**
+     * Removes the value at the index shifting the subsequent values to the left
+     *
+     * @param index The index
+     * @return The removed value
+     */
+    public int removeAt(int index) {
+        checkIndex(index);
+        int old = values[index];
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return old;
+    }
+
+    /**
+     * @param value The value to find
+     * @return The index of the first occurrence of the value or -1, if not found
+     */
+    public int indexOf(int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param value The value
+     * @return true, if the list contains the value
+     */
+    public boolean contains(int value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * @return The number of values
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true, if the list is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all values
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Sorts the values in the ascending order
+     */
+    public void sort() {
+        Arrays.sort(values, 0, size);
+    }
+
+    /**
+     * @return A new array with the values
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * @return A sequential stream of the values
+     */
+    public IntStream stream() {
+        return Arrays.stream(values, 0, size);
+    }
+
+    /**
+     * Performs the action for each value
+     *
+     * @param action The action
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    /**
+     * @return An iterator over the values without boxing
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public int nextInt() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return values[next++];
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IntList)) {
+            return false;
+        }
+        IntList other = (IntList) o;
+        return Arrays.equals(values, 0, size, other.values, 0, other.size);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 1;
+        for (int i = 0; i < size; i++) {
+            h = 31 * h + Integer.hashCode(values[i]);
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    private void grow(int minCapacity) {
+        int capacity = Math.max(minCapacity, values.length + (values.length >> 1) + 1);
+        values = Arrays.copyOf(values, capacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base.collections;
+
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
+/**
+ * A hash map with primitive long keys based on open addressing with linear probing.
+ * Keys and values are kept in two parallel arrays, so there are neither {@link Long}
+ * keys nor map nodes like in {@link java.util.HashMap}. Null values are not allowed.
+ * <p>
+ * The map is not thread-safe.
+ * </p>
+ *
+ * @param <V> The type of values
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public final class LongMap<V> {
+
+    /**
+     * The value of an empty slot. The value for the zero key is stored separately.
+     */
+    private static final long EMPTY = 0L;
+
+    /**
+     * The keys
+     */
+    private long[] keys;
+
+    /**
+     * The values (a value is null if the slot is empty)
+     */
+    private Object[] values;
+
+    /**
+     * The value for the zero key (null if there is no such key)
+     */
+    private V zeroValue;
+
+    /**
+     * The number of entries
+     */
+    private int size;
+
+    /**
+     * The max number of entries before the table grows
+     */
+    private int threshold;
+
+    /**
+     * A consumer of map entries
+     *
+     * @param <V> The type of values
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+
+        /**
+         * Performs the action for an entry
+         *
+         * @param key   The key
+         * @param value The value
+         */
+        void accept(long key, V value);
+    }
+
+    /**
+     * Creates an empty map
+     */
+    public LongMap() {
+        this(HashUtils.DEFAULT_EXPECTED);
+    }
+
+    /**
+     * Creates an empty map for the given expected number of entries
+     *
+     * @param expected The expected number of entries
+     */
+    public LongMap(int expected) {
+        allocate(HashUtils.tableSize(expected));
+    }
+
+    /**
+     * Associates the value with the key
+     *
+     * @param key   The key
+     * @param value The value (not null)
+     * @return The previous value or null, if there was no value for the key
+     * @throws IllegalStateException if the map has reached the max size
+     */
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new NullPointerException("Null values are not supported");
+        }
+        if (key == EMPTY) {
+            V old = zeroValue;
+            zeroValue = value;
+            if (old == null) {
+                size++;
+            }
+            return old;
+        }
+        int mask = keys.length - 1;
+        int i = HashUtils.mix(key) & mask;
+        while (values[i] != null) {
+            if (keys[i] == key) {
+                V old = valueAt(i);
+                values[i] = value;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        if (HashUtils.isFull(size, threshold, keys.length)) {
+            throw new IllegalStateException("The map is full");
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > threshold) {
+            rehash(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * @param key The key
+     * @return The value for the key or null, if there is no such key
+     */
+    public V get(long key) {
+        if (key == EMPTY) {
+            return zeroValue;
+        }
+        int mask = keys.length - 1;
+        int i = HashUtils.mix(key) & mask;
+        while (values[i] != null) {
+            if (keys[i] == key) {
+                return valueAt(i);
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * @param key          The key
+     * @param defaultValue The default value
+     * @return The value for the key or the default value, if there is no such key
+     */
+    public V getOrDefault(long key, V defaultValue) {
+        V v = get(key);
+        return v == null ? defaultValue : v;
+    }
+
+    /**
+     * Returns the value for the key or calculates and puts a new one
+     *
+     * @param key      The key
+     * @param function The function for calculating a new value
+     * @return The existing or new value
+     */
+    public V computeIfAbsent(long key, LongFunction<? extends V> function) {
+        V v = get(key);
+        if (v == null) {
+            v = function.apply(key);
+            if (v != null) {
+                put(key, v);
+            }
+        }
+        return v;
+    }
+
+    /**
+     * @param key The key
+     * @return true, if the map contains the key
+     */
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Removes the entry for the key
+     *
+     * @param key The key
+     * @return The removed value or null, if there was no such key
+     */
+    public V remove(long key) {
+        if (key == EMPTY) {
+            V old = zeroValue;
+            if (old != null) {
+                zeroValue = null;
+                size--;
+            }
+            return old;
+        }
+        int mask = keys.length - 1;
+        int i = HashUtils.mix(key) & mask;
+        while (values[i] != null) {
+            if (keys[i] == key) {
+                V old = valueAt(i);
+                shiftKeys(i);
+                size--;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * @return The number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true, if the map is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all entries
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, null);
+        zeroValue = null;
+        size = 0;
+    }
+
+    /**
+     * @return A new set with all keys
+     */
+    public LongSet keySet() {
+        LongSet s = new LongSet(size);
+        forEach((k, v) -> s.add(k));
+        return s;
+    }
+
+    /**
+     * Performs the action for each entry
+     *
+     * @param action The action
+     */
+    public void forEach(EntryConsumer<? super V> action) {
+        if (zeroValue != null) {
+            action.accept(EMPTY, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null) {
+                action.accept(keys[i], valueAt(i));
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> sb.append(sb.length() > 1 ? ", " : "").append(k).append('=').append(v));
+        return sb.append('}').toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int i) {
+        return (V) values[i];
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        threshold = HashUtils.threshold(capacity);
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldValues[j] != null) {
+                int i = HashUtils.mix(oldKeys[j]) & mask;
+                while (values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    /**
+     * Removes the slot and shifts the subsequent entries of the same probe chain back
+     *
+     * @param pos The slot to remove
+     */
+    private void shiftKeys(int pos) {
+        int mask = keys.length - 1;
+        int last = pos;
+        int i = (pos + 1) & mask;
+        while (values[i] != null) {
+            int home = HashUtils.mix(keys[i]) & mask;
+            if (last <= i ? (home <= last || home > i) : (home <= last && home > i)) {
+                keys[last] = keys[i];
+                values[last] = values[i];
+                last = i;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[last] = EMPTY;
+        values[last] = null;
+    }
+}
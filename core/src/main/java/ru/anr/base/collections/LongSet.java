@@ -0,0 +1,350 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base.collections;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * A hash set of primitive long values based on open addressing with linear probing.
+ * All values are kept in one plain array, so there are no {@link Long} objects and
+ * no hash map nodes like in {@link java.util.HashSet}.
+ * <p>
+ * The set is not thread-safe.
+ * </p>
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public final class LongSet {
+
+    /**
+     * The value of an empty slot. The zero value itself is stored separately.
+     */
+    private static final long EMPTY = 0L;
+
+    /**
+     * The slots
+     */
+    private long[] keys;
+
+    /**
+     * true, if the zero value is in the set
+     */
+    private boolean hasZero;
+
+    /**
+     * The number of values (including zero)
+     */
+    private int size;
+
+    /**
+     * The max number of values before the table grows
+     */
+    private int threshold;
+
+    /**
+     * Creates an empty set
+     */
+    public LongSet() {
+        this(HashUtils.DEFAULT_EXPECTED);
+    }
+
+    /**
+     * Creates an empty set for the given expected number of values
+     *
+     * @param expected The expected number of values
+     */
+    public LongSet(int expected) {
+        allocate(HashUtils.tableSize(expected));
+    }
+
+    /**
+     * Creates a set with the given values
+     *
+     * @param array The values
+     * @return The new set
+     */
+    public static LongSet of(long... array) {
+        LongSet s = new LongSet(array.length);
+        for (long v : array) {
+            s.add(v);
+        }
+        return s;
+    }
+
+    /**
+     * Adds a value to the set
+     *
+     * @param value The value
+     * @return true, if the value was not in the set before
+     * @throws IllegalStateException if the set has reached the max size
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (hasZero) {
+                return false;
+            }
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int mask = keys.length - 1;
+        int i = HashUtils.mix(value) & mask;
+        while (keys[i] != EMPTY) {
+            if (keys[i] == value) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        if (HashUtils.isFull(size, threshold, keys.length)) {
+            throw new IllegalStateException("The set is full");
+        }
+        keys[i] = value;
+        if (++size > threshold) {
+            rehash(keys.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * @param value The value
+     * @return true, if the set contains the value
+     */
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return hasZero;
+        }
+        int mask = keys.length - 1;
+        int i = HashUtils.mix(value) & mask;
+        long k;
+        while ((k = keys[i]) != EMPTY) {
+            if (k == value) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Removes the value from the set
+     *
+     * @param value The value
+     * @return true, if the value was in the set
+     */
+    public boolean remove(long value) {
+        if (value == EMPTY) {
+            if (!hasZero) {
+                return false;
+            }
+            hasZero = false;
+            size--;
+            return true;
+        }
+        int mask = keys.length - 1;
+        int i = HashUtils.mix(value) & mask;
+        while (keys[i] != EMPTY) {
+            if (keys[i] == value) {
+                shiftKeys(i);
+                size--;
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * @return The number of values
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true, if the set is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all values
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        hasZero = false;
+        size = 0;
+    }
+
+    /**
+     * @return A new array with the values (in no particular order)
+     */
+    public long[] toArray() {
+        long[] rs = new long[size];
+        int j = 0;
+        if (hasZero) {
+            rs[j++] = 0L;
+        }
+        for (long k : keys) {
+            if (k != EMPTY) {
+                rs[j++] = k;
+            }
+        }
+        return rs;
+    }
+
+    /**
+     * @return A stream of the values
+     */
+    public LongStream stream() {
+        return Arrays.stream(toArray());
+    }
+
+    /**
+     * Performs the action for each value
+     *
+     * @param action The action
+     */
+    public void forEach(LongConsumer action) {
+        if (hasZero) {
+            action.accept(0L);
+        }
+        for (long k : keys) {
+            if (k != EMPTY) {
+                action.accept(k);
+            }
+        }
+    }
+
+    /**
+     * @return An iterator over the values without boxing
+     */
+    public PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+            private boolean zero = hasZero;
+            private int next = advance(0);
+
+            private int advance(int from) {
+                int i = from;
+                while (i < keys.length && keys[i] == EMPTY) {
+                    i++;
+                }
+                return i;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return zero || next < keys.length;
+            }
+
+            @Override
+            public long nextLong() {
+                if (zero) {
+                    zero = false;
+                    return 0L;
+                }
+                if (next >= keys.length) {
+                    throw new NoSuchElementException();
+                }
+                long v = keys[next];
+                next = advance(next + 1);
+                return v;
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LongSet)) {
+            return false;
+        }
+        LongSet other = (LongSet) o;
+        if (other.size != size || other.hasZero != hasZero) {
+            return false;
+        }
+        for (long k : keys) {
+            if (k != EMPTY && !other.contains(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (long k : keys) {
+            h += Long.hashCode(k);
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        threshold = HashUtils.threshold(capacity);
+    }
+
+    private void rehash(int capacity) {
+        long[] old = keys;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (long k : old) {
+            if (k != EMPTY) {
+                int i = HashUtils.mix(k) & mask;
+                while (keys[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = k;
+            }
+        }
+    }
+
+    /**
+     * Removes the slot and shifts the subsequent entries of the same probe chain back
+     * (so there is no need for tombstones).
+     *
+     * @param pos The slot to remove
+     */
+    private void shiftKeys(int pos) {
+        int mask = keys.length - 1;
+        int last = pos;
+        int i = (pos + 1) & mask;
+        long k;
+        while ((k = keys[i]) != EMPTY) {
+            int home = HashUtils.mix(k) & mask;
+            // The entry can be moved to 'last' only if its home slot is not between 'last' and 'i'
+            if (last <= i ? (home <= last || home > i) : (home <= last && home > i)) {
+                keys[last] = k;
+                last = i;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[last] = EMPTY;
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base.collections;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Lazy read-only views of collections. A view has no storage of its own: each element is filtered
+ * or converted when it is accessed, so the view always reflects the current state of the source
+ * collection. A view is cheap to create, but it repeats the work on every pass, so if the result is
+ * iterated many times, it is better to copy it (e.g. with {@code new ArrayList<>(view)}).
+ * <p>
+ * All views are unmodifiable. The source collection must not be null (the null-safe variants are
+ * {@code CoreParent.filterView}, {@code extractView} and {@code mapView}).
+ * </p>
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public final class Views {
+
+    /**
+     * Not used
+     */
+    private Views() {
+    }
+
+    /**
+     * Creates a view with the elements of the collection that match the predicate. The size of
+     * such a view is calculated by a full scan, while {@link Collection#isEmpty()} and iterating
+     * stop at the first matched element.
+     *
+     * @param source    The source collection
+     * @param predicate The predicate
+     * @param <S>       The type of elements
+     * @return The view
+     */
+    public static <S> Collection<S> filter(Collection<S> source, Predicate<? super S> predicate) {
+        return new FilteredCollection<>(Objects.requireNonNull(source, "source"), predicate);
+    }
+
+    /**
+     * Creates a view with the results of the function applied to the elements of the collection.
+     * The view has the same size as the source collection (no duplicates are removed).
+     *
+     * @param source   The source collection
+     * @param function The function
+     * @param <S>      The type of elements
+     * @param <R>      The type of results
+     * @return The view
+     */
+    public static <S, R> Collection<R> map(Collection<S> source, Function<? super S, ? extends R> function) {
+        return new MappedCollection<>(Objects.requireNonNull(source, "source"), function);
+    }
+
+    /**
+     * Creates a list view with the results of the function applied to the elements of the list.
+     * The function is applied on each access to an element.
+     *
+     * @param source   The source list
+     * @param function The function
+     * @param <S>      The type of elements
+     * @param <R>      The type of results
+     * @return The view
+     */
+    public static <S, R> List<R> map(List<S> source, Function<? super S, ? extends R> function) {
+        Objects.requireNonNull(source, "source");
+        return source instanceof RandomAccess ?
+                new RandomAccessMappedList<>(source, function) :
+                new MappedList<>(source, function);
+    }
+
+    /**
+     * The filtered view
+     *
+     * @param <S> The type of elements
+     */
+    private static final class FilteredCollection<S> extends AbstractCollection<S> {
+
+        private final Collection<S> source;
+        private final Predicate<? super S> predicate;
+
+        FilteredCollection(Collection<S> source, Predicate<? super S> predicate) {
+            this.source = Objects.requireNonNull(source);
+            this.predicate = Objects.requireNonNull(predicate);
+        }
+
+        @Override
+        public Iterator<S> iterator() {
+            return new Iterator<>() {
+                private final Iterator<S> it = source.iterator();
+                private S next;
+                private boolean ready;
+
+                @Override
+                public boolean hasNext() {
+                    while (!ready && it.hasNext()) {
+                        S o = it.next();
+                        if (predicate.test(o)) {
+                            next = o;
+                            ready = true;
+                        }
+                    }
+                    return ready;
+                }
+
+                @Override
+                public S next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    ready = false;
+                    S o = next;
+                    next = null;
+                    return o;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (S o : source) {
+                if (predicate.test(o)) {
+                    size++;
+                }
+            }
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return !iterator().hasNext();
+        }
+
+        @Override
+        public void forEach(Consumer<? super S> action) {
+            for (S o : source) {
+                if (predicate.test(o)) {
+                    action.accept(o);
+                }
+            }
+        }
+    }
+
+    /**
+     * The mapped view of a collection
+     *
+     * @param <S> The type of elements
+     * @param <R> The type of results
+     */
+    private static final class MappedCollection<S, R> extends AbstractCollection<R> {
+
+        private final Collection<S> source;
+        private final Function<? super S, ? extends R> function;
+
+        MappedCollection(Collection<S> source, Function<? super S, ? extends R> function) {
+            this.source = Objects.requireNonNull(source);
+            this.function = Objects.requireNonNull(function);
+        }
+
+        @Override
+        public Iterator<R> iterator() {
+            return new Iterator<>() {
+                private final Iterator<S> it = source.iterator();
+
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public R next() {
+                    return function.apply(it.next());
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return source.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return source.isEmpty();
+        }
+
+        @Override
+        public void forEach(Consumer<? super R> action) {
+            for (S o : source) {
+                action.accept(function.apply(o));
+            }
+        }
+    }
+
+    /**
+     * The mapped view of a list
+     *
+     * @param <S> The type of elements
+     * @param <R> The type of results
+     */
+    private static class MappedList<S, R> extends AbstractList<R> {
+
+        private final List<S> source;
+        private final Function<? super S, ? extends R> function;
+
+        MappedList(List<S> source, Function<? super S, ? extends R> function) {
+            this.source = Objects.requireNonNull(source);
+            this.function = Objects.requireNonNull(function);
+        }
+
+        @Override
+        public R get(int index) {
+            return function.apply(source.get(index));
+        }
+
+        @Override
+        public int size() {
+            return source.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return source.isEmpty();
+        }
+
+        @Override
+        public Iterator<R> iterator() {
+            return listIterator();
+        }
+
+        @Override
+        public ListIterator<R> listIterator(int index) {
+            ListIterator<S> it = source.listIterator(index);
+            return new ListIterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public R next() {
+                    return function.apply(it.next());
+                }
+
+                @Override
+                public boolean hasPrevious() {
+                    return it.hasPrevious();
+                }
+
+                @Override
+                public R previous() {
+                    return function.apply(it.previous());
+                }
+
+                @Override
+                public int nextIndex() {
+                    return it.nextIndex();
+                }
+
+                @Override
+                public int previousIndex() {
+                    return it.previousIndex();
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void set(R r) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void add(R r) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+    }
+
+    /**
+     * The mapped view of a random access list
+     *
+     * @param <S> The type of elements
+     * @param <R> The type of results
+     */
+    private static final class RandomAccessMappedList<S, R> extends MappedList<S, R> implements RandomAccess {
+
+        RandomAccessMappedList(List<S> source, Function<? super S, ? extends R> function) {
+            super(source, function);
+        }
+    }
+}
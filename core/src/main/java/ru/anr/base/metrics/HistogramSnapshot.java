@@ -0,0 +1,142 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base.metrics;
+
+import org.springframework.util.Assert;
+
+/**
+ * An immutable snapshot of a {@link LatencyHistogram}.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public final class HistogramSnapshot {
+
+    private final int precision;
+    private final long[] counts;
+    private final long count;
+    private final long total;
+    private final long min;
+    private final long max;
+
+    HistogramSnapshot(int precision, long[] counts, long count, long total, long min, long max) {
+        this.precision = precision;
+        this.counts = counts;
+        this.count = count;
+        this.total = total;
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * Returns the value below or equal to which the given percent of recorded values fall. The value
+     * is the upper bound of the bucket, limited by the max recorded value.
+     *
+     * @param percentile The percentile (from 0 to 100)
+     * @return The value or 0, if nothing has been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+
+        Assert.isTrue(percentile >= 0.0 && percentile <= 100.0, "The percentile must be from 0 to 100");
+        if (count == 0L) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.max(min, Math.min(max, LatencyHistogram.upperBound(i, precision)));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Merges two snapshots
+     *
+     * @param other The snapshot with the same precision
+     * @return The new snapshot with values of both ones
+     */
+    public HistogramSnapshot merge(HistogramSnapshot other) {
+
+        Assert.isTrue(other.precision == precision, "Histograms must have the same precision");
+        if (other.count == 0L) {
+            return this;
+        }
+        if (count == 0L) {
+            return other;
+        }
+        long[] c = counts.clone();
+        for (int i = 0; i < c.length; i++) {
+            c[i] += other.counts[i];
+        }
+        return new HistogramSnapshot(precision, c, count + other.count, total + other.total,
+                Math.min(min, other.min), Math.max(max, other.max));
+    }
+
+    long[] counts() {
+        return counts;
+    }
+
+    /**
+     * @return The precision of the histogram
+     */
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * @return The number of recorded values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return The sum of recorded values
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return The min value (0 if nothing has been recorded)
+     */
+    public long getMin() {
+        return min;
+    }
+
+    /**
+     * @return The max value (0 if nothing has been recorded)
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @return The mean value (0 if nothing has been recorded)
+     */
+    public double getMean() {
+        return count == 0L ? 0.0 : (double) total / count;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + count + ", min=" + min + ", p50=" + getValueAtPercentile(50.0) + ", p99="
+                + getValueAtPercentile(99.0) + ", max=" + max;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * The reference implementation of {@link Metrics} which keeps all values in memory. It is intended
+ * for tests and local diagnostics: the collected values are available via {@link #snapshot()}.
+ * Timers and histograms are backed by {@link LatencyHistogram}s, so snapshots provide percentiles.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public class InMemoryMetrics implements Metrics {
+
+    /**
+     * A timer or a histogram backed by {@link LatencyHistogram}
+     */
+    private static final class Recorded implements Timer, Histogram {
+
+        private final LatencyHistogram histogram;
+
+        Recorded(int precision) {
+            this.histogram = new LatencyHistogram(precision);
+        }
+
+        @Override
+        public void record(long value) {
+            histogram.record(value);
+        }
+    }
+
+    /**
+     * A counter
+     */
+    private static final class Adder implements Counter {
+
+        private final LongAdder value = new LongAdder();
+
+        @Override
+        public void increment(long delta) {
+            value.add(delta);
+        }
+    }
+
+    private final ConcurrentMap<String, Recorded> timers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Recorded> histograms = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Adder> counters = new ConcurrentHashMap<>();
+
+    private final int precision;
+
+    /**
+     * Creates metrics with histograms of the default precision
+     */
+    public InMemoryMetrics() {
+        this(LatencyHistogram.DEFAULT_PRECISION);
+    }
+
+    /**
+     * Creates metrics
+     *
+     * @param precision The precision of histograms (see {@link LatencyHistogram#LatencyHistogram(int)})
+     */
+    public InMemoryMetrics(int precision) {
+        this.precision = precision;
+    }
+
+    @Override
+    public Timer timer(String name) {
+        return timers.computeIfAbsent(name, n -> new Recorded(precision));
+    }
+
+    @Override
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, n -> new Adder());
+    }
+
+    @Override
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, n -> new Recorded(precision));
+    }
+
+    /**
+     * Takes a snapshot of all meters. Meters which have recorded nothing are included too.
+     *
+     * @return The snapshot
+     */
+    public MetricsSnapshot snapshot() {
+        return snapshot(LatencyHistogram::snapshot);
+    }
+
+    /**
+     * Takes a snapshot of timers and histograms with values recorded since the previous interval
+     * snapshot. Counters are reported with their total values.
+     *
+     * @return The snapshot
+     */
+    public MetricsSnapshot intervalSnapshot() {
+        return snapshot(LatencyHistogram::intervalSnapshot);
+    }
+
+    private MetricsSnapshot snapshot(Function<LatencyHistogram, HistogramSnapshot> fn) {
+
+        Map<String, HistogramSnapshot> t = new TreeMap<>();
+        timers.forEach((k, v) -> t.put(k, fn.apply(v.histogram)));
+
+        Map<String, HistogramSnapshot> h = new TreeMap<>();
+        histograms.forEach((k, v) -> h.put(k, fn.apply(v.histogram)));
+
+        Map<String, Long> c = new TreeMap<>();
+        counters.forEach((k, v) -> c.put(k, v.value.sum()));
+
+        return new MetricsSnapshot(t, h, c);
+    }
+
+    /**
+     * Resets the values of all meters. The meters themselves are kept, as callers cache them.
+     * Values recorded concurrently with the reset can be partially lost.
+     */
+    public void reset() {
+        timers.values().forEach(r -> r.histogram.reset());
+        histograms.values().forEach(r -> r.histogram.reset());
+        counters.values().forEach(c -> c.value.reset());
+    }
+}
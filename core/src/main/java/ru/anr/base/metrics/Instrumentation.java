@@ -0,0 +1,59 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base.metrics;
+
+import org.springframework.util.Assert;
+
+/**
+ * Holds the {@link Metrics} implementation used by the instrumented helpers.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public final class Instrumentation {
+
+    private static volatile Metrics metrics = Metrics.NOOP;
+
+    /**
+     * Not used
+     */
+    private Instrumentation() {
+    }
+
+    /**
+     * Installs the metrics implementation
+     *
+     * @param value The metrics ({@link Metrics#NOOP} turns the instrumentation off)
+     */
+    public static void setMetrics(Metrics value) {
+        Assert.notNull(value, "Metrics must be set, use Metrics.NOOP to turn them off");
+        metrics = value;
+    }
+
+    /**
+     * @return The current metrics implementation
+     */
+    public static Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return true, if some metrics are installed
+     */
+    public static boolean isEnabled() {
+        return metrics != Metrics.NOOP;
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base.metrics;
+
+import org.springframework.util.Assert;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent histogram of non-negative values (usually latencies in nanoseconds) with fixed
+ * memory. Values are counted in log-linear buckets like in HdrHistogram: each power of two is split
+ * into 2^precision equal sub-buckets, so the relative error of a reported value is below
+ * 2^-precision (about 3% for the default precision of 5 bits) for the whole range of long values.
+ * <p>
+ * Recording is lock-free and does not allocate objects in the steady state. Snapshots (total or
+ * for the interval since the previous interval snapshot) are immutable and provide percentiles,
+ * they can be merged with each other or added back to a histogram.
+ * </p>
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public final class LatencyHistogram {
+
+    /**
+     * The default number of bits of the sub-bucket index
+     */
+    public static final int DEFAULT_PRECISION = 5;
+
+    private final int precision;
+    private final AtomicLongArray counts;
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * The counts taken by the previous interval snapshot
+     */
+    private long[] intervalStart;
+
+    /**
+     * Creates a histogram with the default precision
+     */
+    public LatencyHistogram() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * Creates a histogram
+     *
+     * @param precision The number of bits of the sub-bucket index (from 1 to 10). The memory
+     *                  usage is about (64 - precision) * 2^precision longs.
+     */
+    public LatencyHistogram(int precision) {
+        Assert.isTrue(precision >= 1 && precision <= 10, "The precision must be from 1 to 10");
+        this.precision = precision;
+        this.counts = new AtomicLongArray(bucketCount(precision));
+        this.intervalStart = new long[counts.length()];
+    }
+
+    /**
+     * Records a value. Negative values are counted as zero.
+     *
+     * @param value The value
+     */
+    public void record(long value) {
+        long v = Math.max(0L, value);
+        counts.incrementAndGet(bucket(v, precision));
+        total.add(v);
+        updateMin(v);
+        updateMax(v);
+    }
+
+    /**
+     * Adds all values of the snapshot to the histogram
+     *
+     * @param snapshot The snapshot with the same precision
+     */
+    public void add(HistogramSnapshot snapshot) {
+        Assert.isTrue(snapshot.getPrecision() == precision, "Histograms must have the same precision");
+        if (snapshot.getCount() == 0L) {
+            return;
+        }
+        long[] c = snapshot.counts();
+        for (int i = 0; i < c.length; i++) {
+            if (c[i] != 0L) {
+                counts.addAndGet(i, c[i]);
+            }
+        }
+        total.add(snapshot.getTotal());
+        updateMin(snapshot.getMin());
+        updateMax(snapshot.getMax());
+    }
+
+    /**
+     * Returns the snapshot of all recorded values. Concurrently recorded values can be counted before
+     * the min and max values are updated, so they are kept within the lowest and highest non-empty buckets.
+     *
+     * @return The snapshot
+     */
+    public HistogramSnapshot snapshot() {
+        long[] c = copy();
+        return build(c, total.sum(), boundMin(c, min.get(), precision), boundMax(c, max.get(), precision));
+    }
+
+    /**
+     * Returns the values recorded since the previous call of this method (or since the creation).
+     * The min and max values are approximated by the bounds of the lowest and highest buckets.
+     *
+     * @return The interval snapshot
+     */
+    public synchronized HistogramSnapshot intervalSnapshot() {
+        long[] now = copy();
+        long[] delta = new long[now.length];
+        for (int i = 0; i < now.length; i++) {
+            delta[i] = now[i] - intervalStart[i];
+        }
+        intervalStart = now;
+
+        long sum = 0L;
+        long lo = Long.MAX_VALUE;
+        long hi = Long.MIN_VALUE;
+        for (int i = 0; i < delta.length; i++) {
+            if (delta[i] > 0L) {
+                long mid = (lowerBound(i, precision) >> 1) + (upperBound(i, precision) >> 1);
+                sum += delta[i] * mid;
+                lo = Math.min(lo, lowerBound(i, precision));
+                hi = Math.max(hi, upperBound(i, precision));
+            }
+        }
+        return build(delta, sum, lo, hi);
+    }
+
+    /**
+     * Removes all values. Values recorded concurrently can be partially lost.
+     */
+    public synchronized void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0L);
+        }
+        total.reset();
+        min.set(Long.MAX_VALUE);
+        max.set(Long.MIN_VALUE);
+        intervalStart = new long[counts.length()];
+    }
+
+    /**
+     * @return The precision of the histogram
+     */
+    public int getPrecision() {
+        return precision;
+    }
+
+    private HistogramSnapshot build(long[] c, long sum, long lo, long hi) {
+        long count = 0L;
+        for (long x : c) {
+            count += x;
+        }
+        return count == 0L ? new HistogramSnapshot(precision, c, 0L, 0L, 0L, 0L) :
+                new HistogramSnapshot(precision, c, count, sum, lo, hi);
+    }
+
+    /**
+     * @return The min value if it is in the lowest non-empty bucket, otherwise the lower bound of the bucket
+     */
+    static long boundMin(long[] c, long min, int precision) {
+        for (int i = 0; i < c.length; i++) {
+            if (c[i] != 0L) {
+                long lo = lowerBound(i, precision);
+                return min < lo || min > upperBound(i, precision) ? lo : min;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * @return The max value if it is in the highest non-empty bucket, otherwise the upper bound of the bucket
+     */
+    static long boundMax(long[] c, long max, int precision) {
+        for (int i = c.length - 1; i >= 0; i--) {
+            if (c[i] != 0L) {
+                long hi = upperBound(i, precision);
+                return max > hi || max < lowerBound(i, precision) ? hi : max;
+            }
+        }
+        return max;
+    }
+
+    private long[] copy() {
+        long[] c = new long[counts.length()];
+        for (int i = 0; i < c.length; i++) {
+            c[i] = counts.get(i);
+        }
+        return c;
+    }
+
+    private void updateMin(long v) {
+        long m = min.get();
+        while (v < m && !min.compareAndSet(m, v)) {
+            m = min.get();
+        }
+    }
+
+    private void updateMax(long v) {
+        long m = max.get();
+        while (v > m && !max.compareAndSet(m, v)) {
+            m = max.get();
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    ///// bucket arithmetic
+    ///////////////////////////////////////////////////////////////////////////
+
+    static int bucketCount(int precision) {
+        return (64 - precision) << precision;
+    }
+
+    /**
+     * Values below 2^precision have own buckets, greater ones are split by the position of the
+     * highest bit and the next 'precision' bits
+     */
+    static int bucket(long v, int precision) {
+        int sub = 1 << precision;
+        if (v < sub) {
+            return (int) v;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(v) - precision;
+        return ((shift + 1) << precision) + (int) (v >>> shift) - sub;
+    }
+
+    static long lowerBound(int bucket, int precision) {
+        int sub = 1 << precision;
+        if (bucket < sub) {
+            return bucket;
+        }
+        int shift = (bucket >>> precision) - 1;
+        return (long) (sub + (bucket & (sub - 1))) << shift;
+    }
+
+    static long upperBound(int bucket, int precision) {
+        int sub = 1 << precision;
+        if (bucket < sub) {
+            return bucket;
+        }
+        int shift = (bucket >>> precision) - 1;
+        return lowerBound(bucket, precision) + ((1L << shift) - 1L);
+    }
+}
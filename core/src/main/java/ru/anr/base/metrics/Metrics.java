@@ -0,0 +1,122 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base.metrics;
+
+/**
+ * The SPI of metrics used to instrument hot helpers of the library (xpath, regexp, digest, etc.).
+ * An implementation is installed with {@link Instrumentation#setMetrics(Metrics)} and usually adapts
+ * some metrics library. By default, {@link #NOOP} is used, and the instrumented helpers
+ * do not even read the clock.
+ * <p>
+ * Meters are requested by names once and then cached by callers (see {@link Probe}), so
+ * the lookup does not need to be fast, but recording must be thread-safe and cheap.
+ * </p>
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public interface Metrics {
+
+    /**
+     * Metrics which record nothing
+     */
+    Metrics NOOP = new Metrics() {
+        @Override
+        public Timer timer(String name) {
+            return nanos -> {
+            };
+        }
+
+        @Override
+        public Counter counter(String name) {
+            return delta -> {
+            };
+        }
+
+        @Override
+        public Histogram histogram(String name) {
+            return value -> {
+            };
+        }
+    };
+
+    /**
+     * Measures durations
+     */
+    @FunctionalInterface
+    interface Timer {
+
+        /**
+         * Records a duration
+         *
+         * @param nanos The duration in nanoseconds
+         */
+        void record(long nanos);
+    }
+
+    /**
+     * Counts events
+     */
+    @FunctionalInterface
+    interface Counter {
+
+        /**
+         * Adds the delta to the counter
+         *
+         * @param delta The number of events
+         */
+        void increment(long delta);
+
+        /**
+         * Counts one event
+         */
+        default void increment() {
+            increment(1L);
+        }
+    }
+
+    /**
+     * Records the distribution of values (sizes, lengths, etc.)
+     */
+    @FunctionalInterface
+    interface Histogram {
+
+        /**
+         * Records a value
+         *
+         * @param value The value
+         */
+        void record(long value);
+    }
+
+    /**
+     * @param name The name of the timer
+     * @return The timer with the name
+     */
+    Timer timer(String name);
+
+    /**
+     * @param name The name of the counter
+     * @return The counter with the name
+     */
+    Counter counter(String name);
+
+    /**
+     * @param name The name of the histogram
+     * @return The histogram with the name
+     */
+    Histogram histogram(String name);
+}
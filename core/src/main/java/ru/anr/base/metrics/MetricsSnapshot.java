@@ -0,0 +1,89 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A snapshot of the values collected by {@link InMemoryMetrics}. Maps are sorted by names.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public final class MetricsSnapshot {
+
+    private final Map<String, HistogramSnapshot> timers;
+    private final Map<String, HistogramSnapshot> histograms;
+    private final Map<String, Long> counters;
+
+    MetricsSnapshot(Map<String, HistogramSnapshot> timers, Map<String, HistogramSnapshot> histograms,
+                    Map<String, Long> counters) {
+        this.timers = Collections.unmodifiableMap(timers);
+        this.histograms = Collections.unmodifiableMap(histograms);
+        this.counters = Collections.unmodifiableMap(counters);
+    }
+
+    /**
+     * @return The timers by names
+     */
+    public Map<String, HistogramSnapshot> getTimers() {
+        return timers;
+    }
+
+    /**
+     * @return The histograms by names
+     */
+    public Map<String, HistogramSnapshot> getHistograms() {
+        return histograms;
+    }
+
+    /**
+     * @return The counters by names
+     */
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    /**
+     * @param name The name of a timer
+     * @return The timer's snapshot or null if there is no such timer
+     */
+    public HistogramSnapshot timer(String name) {
+        return timers.get(name);
+    }
+
+    /**
+     * @param name The name of a histogram
+     * @return The histogram's snapshot or null if there is no such histogram
+     */
+    public HistogramSnapshot histogram(String name) {
+        return histograms.get(name);
+    }
+
+    /**
+     * @param name The name of a counter
+     * @return The counter's value (0 if there is no such counter)
+     */
+    public long counter(String name) {
+        return counters.getOrDefault(name, 0L);
+    }
+
+    @Override
+    public String toString() {
+        return "timers=" + timers + ", histograms=" + histograms + ", counters=" + counters;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base.metrics;
+
+/**
+ * A named measurement point in the code. It caches the meters resolved from the current
+ * {@link Metrics} and resolves them again when another implementation is installed.
+ * When the instrumentation is off, {@link #start()} and {@link #stop(long)} only read
+ * a volatile field.
+ * <pre>
+ * long start = PROBE.start();
+ * try {
+ *     ...
+ * } finally {
+ *     PROBE.stop(start);
+ * }
+ * </pre>
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public final class Probe {
+
+    /**
+     * The start value when the instrumentation is off
+     */
+    public static final long DISABLED = Long.MIN_VALUE;
+
+    /**
+     * The meters resolved from a metrics implementation
+     */
+    private static final class Meters {
+
+        private final Metrics metrics;
+        private final Metrics.Timer timer;
+        private final Metrics.Histogram histogram;
+        private final Metrics.Counter errors;
+
+        Meters(Metrics metrics, Metrics.Timer timer, Metrics.Histogram histogram, Metrics.Counter errors) {
+            this.metrics = metrics;
+            this.timer = timer;
+            this.histogram = histogram;
+            this.errors = errors;
+        }
+    }
+
+    private final String name;
+
+    /**
+     * Replaced as a whole, so races only lead to repeated resolving
+     */
+    private volatile Meters meters;
+
+    private Probe(String name) {
+        this.name = name;
+        this.meters = new Meters(Metrics.NOOP, null, null, null);
+    }
+
+    /**
+     * Creates a probe. The timer of the probe has the given name, the histogram and the counter
+     * of errors have the name with the ".size" and ".errors" suffixes.
+     *
+     * @param name The name of the probe
+     * @return A new probe
+     */
+    public static Probe of(String name) {
+        return new Probe(name);
+    }
+
+    /**
+     * @return The name of the probe
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Starts a measurement
+     *
+     * @return The start time or {@link #DISABLED}
+     */
+    public long start() {
+        return Instrumentation.isEnabled() ? System.nanoTime() : DISABLED;
+    }
+
+    /**
+     * Finishes a measurement started by {@link #start()}
+     *
+     * @param start The start time
+     */
+    public void stop(long start) {
+        if (start != DISABLED) {
+            long duration = System.nanoTime() - start;
+            Meters m = meters();
+            if (m != null) {
+                m.timer.record(duration);
+            }
+        }
+    }
+
+    /**
+     * Records a value (like the size of processed data) in the histogram of the probe
+     *
+     * @param value The value
+     */
+    public void record(long value) {
+        Meters m = meters();
+        if (m != null) {
+            m.histogram.record(value);
+        }
+    }
+
+    /**
+     * Counts a failed operation
+     */
+    public void error() {
+        Meters m = meters();
+        if (m != null) {
+            m.errors.increment();
+        }
+    }
+
+    private Meters meters() {
+        Metrics current = Instrumentation.getMetrics();
+        if (current == Metrics.NOOP) {
+            return null;
+        }
+        Meters m = meters;
+        if (m.metrics != current) {
+            m = new Meters(current, current.timer(name), current.histogram(name + ".size"),
+                    current.counter(name + ".errors"));
+            meters = m;
+        }
+        return m;
+    }
+}
@@ -0,0 +1,98 @@
+package ru.anr.base;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Tests for batch processing.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public class BatchProcessorTest extends CoreParent {
+
+    @Test
+    public void testPartition() {
+
+        List<Integer> l = list(1, 2, 3, 4, 5);
+        List<List<Integer>> batches = partition(l, 2);
+        Assertions.assertEquals(3, batches.size());
+        Assertions.assertEquals(list(list(1, 2), list(3, 4), list(5)), batches);
+        Assertions.assertEquals(list(), partition(list(), 2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> batches.get(3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> partition(l, 0));
+
+        AtomicInteger read = new AtomicInteger();
+        Stream<List<Integer>> s = partition(IntStream.range(0, 10).boxed().peek(i -> read.incrementAndGet()), 3);
+        Assertions.assertEquals(0, read.get());
+
+        Iterator<List<Integer>> it = s.iterator();
+        Assertions.assertEquals(list(0, 1, 2), it.next());
+        Assertions.assertTrue(read.get() <= 4); // Only the first batch is read
+        Assertions.assertEquals(list(list(3, 4, 5), list(6, 7, 8), list(9)),
+                list(Stream.generate(it::next).limit(3)));
+        Assertions.assertFalse(it.hasNext());
+    }
+
+    @Test
+    public void testProcessing() {
+
+        List<Integer> items = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        AtomicLong sum = new AtomicLong();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        BatchResult rs = inBatches(items, 100, 3, batch -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleep(5);
+            batch.forEach(sum::addAndGet);
+            inFlight.decrementAndGet();
+        });
+
+        Assertions.assertTrue(rs.isSuccessful());
+        Assertions.assertEquals(10, rs.getBatches());
+        Assertions.assertEquals(1000, rs.getItems());
+        Assertions.assertEquals(999 * 1000 / 2, sum.get());
+        Assertions.assertTrue(maxInFlight.get() <= 3, "In flight: " + maxInFlight.get());
+        Assertions.assertTrue(rs.getThroughput() > 0);
+        Assertions.assertSame(rs, rs.throwIfFailed());
+    }
+
+    @Test
+    public void testFailures() {
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            BatchResult rs = new BatchProcessor(2, 2).executor(executor)
+                    .process(Stream.of(1, 2, 3, 4, 5), batch -> {
+                        if (batch.contains(3) || batch.contains(5)) {
+                            throw new IllegalStateException("Failed " + batch);
+                        }
+                    });
+
+            Assertions.assertFalse(rs.isSuccessful());
+            Assertions.assertEquals(3, rs.getBatches());
+            Assertions.assertEquals(list(1, 2), rs.getFailures().stream()
+                    .map(BatchResult.Failure::getIndex).collect(Collectors.toList()));
+            Assertions.assertEquals(1, rs.getFailures().get(1).getSize());
+
+            ApplicationException ex = Assertions.assertThrows(ApplicationException.class, rs::throwIfFailed);
+            Assertions.assertEquals("Failed [3, 4]", ex.getCause().getMessage());
+            Assertions.assertEquals(1, ex.getSuppressed().length);
+
+            // The custom executor is not closed
+            Assertions.assertFalse(executor.isShutdown());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package ru.anr.base;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Tests for {@link ColumnFormat}.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public class ColumnFormatTest extends CoreParent {
+
+    @Test
+    public void formatColumn() {
+
+        ColumnFormat f = AmountFormats.column(2, true, true, "$", Locale.ENGLISH);
+        Assertions.assertTrue((Boolean) field(f, "direct"));
+        StringBuilder sb = new StringBuilder();
+
+        f.format(sb, new BigDecimal[]{d("100"), d("1000"), d("-1234567.891")}, ";");
+        Assertions.assertEquals("$100.00;$1,000.00;$-1,234,567.89", sb.toString());
+
+        sb.setLength(0);
+        f.format(sb, new long[]{10000, 100000, 5}, "\n");
+        Assertions.assertEquals("$100.00\n$1,000.00\n$0.05", sb.toString());
+
+        // Commodities
+        sb.setLength(0);
+        AmountFormats.column(5, false, false, "g", Locale.ENGLISH).format(sb, new BigDecimal[]{d("100"), d("0.10000")}, ", ");
+        Assertions.assertEquals("100g, 0.1g", sb.toString());
+    }
+
+    /**
+     * The results must be the same as the ones of {@link AmountFormats#format(BigDecimal, int, boolean, boolean, String, Locale)}
+     */
+    @Test
+    public void sameAsFormat() {
+
+        Random rnd = new Random(3);
+        BigDecimal[] values = new BigDecimal[ColumnFormat.PARALLEL_THRESHOLD + 123];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (i % 100 == 0) ?
+                    new BigDecimal(rnd.nextLong()).multiply(new BigDecimal(rnd.nextLong())) :
+                    BigDecimal.valueOf(rnd.nextLong() >> rnd.nextInt(64), rnd.nextInt(6));
+        }
+        values[1] = d("-0.001");
+        values[2] = d("0.005");
+
+        for (Locale locale : new Locale[]{Locale.ENGLISH, new Locale("ru"), Locale.GERMAN, new Locale("ar")}) {
+            for (int scale : new int[]{0, 2, 5}) {
+                for (boolean currency : new boolean[]{true, false}) {
+
+                    String expected = Arrays.stream(values)
+                            .map(v -> AmountFormats.format(v, scale, currency, false, " X", locale))
+                            .collect(Collectors.joining("|"));
+
+                    String rs = AmountFormats.column(scale, currency, false, " X", locale)
+                            .format(new StringBuilder(), values, "|").toString();
+                    Assertions.assertEquals(expected, rs);
+                }
+            }
+        }
+    }
+}
@@ -1,29 +1,40 @@
 package ru.anr.base;
 
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.helpers.SubstituteLoggerFactory;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
- * BaseParent tests
+ * CoreParent tests
  *
  * @author Alexey Romanchuk
  * @created Oct 29, 2014
  */
 
-class BaseParentTest extends BaseParent {
+class CoreParentTest extends CoreParent {
 
     /**
      * Logger
      */
-    private static final Logger logger = LoggerFactory.getLogger(BaseParentTest.class);
+    private static final Logger logger = LoggerFactory.getLogger(CoreParentTest.class);
 
     /**
      * String for tests
@@ -31,7 +42,7 @@ class BaseParentTest extends BaseParent {
     private static final String TEST_STRING = "T123T";
 
     /**
-     * Test method for {@link ru.anr.base.BaseParent#list(Object...)}.
+     * Test method for {@link ru.anr.base.CoreParent#list(Object...)}.
      */
     @Test
     void testList() {
@@ -61,7 +72,7 @@ class BaseParentTest extends BaseParent {
     }
 
     /**
-     * Test method for {@link ru.anr.base.BaseParent#list(List)}
+     * Test method for {@link ru.anr.base.CoreParent#list(List)}
      */
     @Test
     void testListByLisy() {
@@ -74,7 +85,7 @@ class BaseParentTest extends BaseParent {
     }
 
     /**
-     * Test method for {@link ru.anr.base.BaseParent#set(Object...)}.
+     * Test method for {@link ru.anr.base.CoreParent#set(Object...)}.
      */
     @Test
     void testSet() {
@@ -98,7 +109,7 @@ class BaseParentTest extends BaseParent {
 
     /**
      * Test method for
-     * {@link ru.anr.base.BaseParent#concat(Object[], Object...)}.
+     * {@link ru.anr.base.CoreParent#concat(Object[], Object...)}.
      */
     @Test
     void testConcat() {
@@ -224,7 +235,7 @@ class BaseParentTest extends BaseParent {
     }
 
     /**
-     * Testing {@link BaseParent#toMap(Object[])}
+     * Testing {@link CoreParent#toMap(Object[])}
      */
     @Test
     void testValues() {
@@ -324,30 +335,6 @@ class BaseParentTest extends BaseParent {
         Assertions.assertEquals("2", map.get("y"));
     }
 
-    /**
-     * Parsing
-     */
-    @Test
-    void parsing() {
-
-        Integer v = parse("64", Integer.class);
-        Assertions.assertNotNull(v);
-        Assertions.assertEquals(64, v.intValue());
-
-        v = parse("64f", Integer.class);
-        Assertions.assertNull(v);
-
-        BigDecimal x = parse("64", BigDecimal.class);
-        Assertions.assertNotNull(x);
-        Assertions.assertEquals(new BigDecimal("64"), x);
-
-        x = parse("64/f", BigDecimal.class);
-        Assertions.assertNull(x);
-
-        Long id = parse(null, Long.class);
-        Assertions.assertNull(id);
-    }
-
     /**
      * Tests for utf8
      */
@@ -439,6 +426,53 @@ class BaseParentTest extends BaseParent {
         Assertions.assertEquals(2, map.get("yyy").intValue());
     }
 
+    /**
+     * Duplicate keys without a merge function
+     */
+    @Test
+    void testListToMapDuplicates() {
+
+        List<SampleObject> list = list(new SampleObject("xx", 1), new SampleObject("xx", 2));
+        IllegalStateException ex = Assertions.assertThrows(IllegalStateException.class,
+                () -> toMap(list, SampleObject::getValue, SampleObject::getIndex));
+        Assertions.assertEquals("Duplicate key xx (attempted merging values 1 and 2)", ex.getMessage());
+
+        Assertions.assertThrows(NullPointerException.class,
+                () -> toMap(list(new SampleObject("xx", null)), SampleObject::getValue, SampleObject::getIndex));
+    }
+
+    /**
+     * Compact immutable maps
+     */
+    @Test
+    void testCompactMap() {
+
+        Map<String, Object> map = toCompactMap("b", 1, "a", 2, "c", null, "b", 3, null, "x", "d");
+        Assertions.assertEquals(toMap("b", 1, "a", 2, "c", null, "b", 3, null, "x", "d"), map);
+        Assertions.assertEquals(list("b", "a", "c", null, "d"), list(map.keySet()));
+
+        Assertions.assertEquals(3, map.get("b"));
+        Assertions.assertEquals("x", map.get(null));
+        Assertions.assertTrue(map.containsKey("c"));
+        Assertions.assertTrue(map.containsKey("d"));
+        Assertions.assertNull(map.get("d"));
+        Assertions.assertFalse(map.containsKey("e"));
+        Assertions.assertEquals(toMap("b", 1, "a", 2, "c", null, "b", 3, null, "x", "d").hashCode(), map.hashCode());
+
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> map.put("x", 1));
+        Assertions.assertTrue(toCompactMap().isEmpty());
+
+        // Larger maps
+        Object[] pairs = new Object[2 * (COMPACT_MAP_MAX_SIZE + 1)];
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = i;
+        }
+        Map<Integer, Integer> large = toCompactMap(pairs);
+        Assertions.assertEquals(COMPACT_MAP_MAX_SIZE + 1, large.size());
+        Assertions.assertEquals(toMap(pairs), large);
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> large.put(1, 1));
+    }
+
     /**
      * Mapping with merging tests
      */
@@ -463,9 +497,50 @@ class BaseParentTest extends BaseParent {
         Assertions.assertEquals(0, map.size());
     }
 
+    /**
+     * Mapping with merging in the encounter order and in parallel
+     */
+    @Test
+    @ResourceLock("ru.anr.base.ParallelUtils") // Changes the global settings
+    void testListToMapWithMergingOrdered() {
+
+        List<SampleObject> list = list(new SampleObject("yy", 1), new SampleObject("xx", 2), new SampleObject("zz", 5),
+                new SampleObject("xx", 8), new SampleObject("yy", 32));
+
+        Map<String, String> map = toMap(list, SampleObject::getValue, o -> o.getIndex().toString(),
+                (a, b) -> a + "," + b, true);
+        Assertions.assertEquals(list("yy", "xx", "zz"), list(map.keySet()));
+        Assertions.assertEquals(list("1,32", "2,8", "5"), list(map.values()));
+
+        List<SampleObject> large = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            large.add(new SampleObject("k" + (i % 300), i));
+        }
+        Map<String, String> sequential = toMap(large, SampleObject::getValue, o -> o.getIndex().toString(),
+                (a, b) -> a + "," + b, true);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelUtils.setThreshold(100);
+            ParallelUtils.setPool(pool);
+            Map<String, String> parallel = toMap(large, SampleObject::getValue, o -> o.getIndex().toString(),
+                    (a, b) -> a + "," + b, true);
+            Assertions.assertEquals(LinkedHashMap.class, parallel.getClass());
+            Assertions.assertEquals(list(sequential.entrySet()), list(parallel.entrySet()));
+
+            Map<String, Integer> sums = toMap(large, SampleObject::getValue, SampleObject::getIndex, Integer::sum);
+            Assertions.assertEquals(300, sums.size());
+            Assertions.assertEquals(large.stream().mapToInt(SampleObject::getIndex).sum(),
+                    sums.values().stream().mapToInt(Integer::intValue).sum());
+        } finally {
+            ParallelUtils.setThreshold(ParallelUtils.DEFAULT_THRESHOLD);
+            ParallelUtils.setPool(null);
+            pool.shutdown();
+        }
+    }
+
     /**
      * Test method for
-     * {@link BaseParent#getEmptyKeys(java.util.Map, java.util.Collection)}
+     * {@link CoreParent#getEmptyKeys(java.util.Map, java.util.Collection)}
      */
     @Test
     void testGetEmptyKeys() {
@@ -477,22 +552,9 @@ class BaseParentTest extends BaseParent {
         Assertions.assertEquals(set("d"), getEmptyKeys(map, Arrays.asList("a", "b", "d")));
     }
 
-    /**
-     * Test method for {@link BaseParent#sha256(java.lang.String)}
-     */
-    @Test
-    void testSha256() {
-
-        String s1 = "string1";
-        String s2 = "string2";
-        Assertions.assertEquals(sha256(s1), sha256(s1));
-        Assertions.assertNotEquals(sha256(s1), sha256(s2));
-
-    }
-
     /**
      * Tests for
-     * {@link BaseParent#extract(java.util.Collection, java.util.function.Function)}
+     * {@link CoreParent#extract(java.util.Collection, java.util.function.Function)}
      */
     @Test
     void testExtractKeys() {
@@ -515,12 +577,12 @@ class BaseParentTest extends BaseParent {
     public void testField() {
 
         SampleObject o = new SampleObject(null, -12);
-        Assertions.assertNull(BaseParent.field(o, "value"));
-        Assertions.assertEquals(Integer.valueOf(-12), BaseParent.field(o, "index"));
+        Assertions.assertNull(CoreParent.field(o, "value"));
+        Assertions.assertEquals(Integer.valueOf(-12), CoreParent.field(o, "index"));
 
         o = new SampleObject("xxx", 1);
-        Assertions.assertEquals("xxx", BaseParent.field(o, "value"));
-        Assertions.assertEquals(Integer.valueOf(1), BaseParent.field(o, "index"));
+        Assertions.assertEquals("xxx", CoreParent.field(o, "value"));
+        Assertions.assertEquals(Integer.valueOf(1), CoreParent.field(o, "index"));
     }
 
     /**
@@ -530,7 +592,7 @@ class BaseParentTest extends BaseParent {
     public void testMethod() {
         SampleObject x = new SampleObject("P", 0);
         SampleObject o = new SampleObject("POINT", -12);
-        Assertions.assertEquals("X2POINT | SampleObject{value='P', index=0}", BaseParent.invoke(o, "run", 2, "X", x));
+        Assertions.assertEquals("X2POINT | SampleObject{value='P', index=0}", CoreParent.invoke(o, "run", 2, "X", x));
     }
 
     @Test
@@ -556,17 +618,6 @@ class BaseParentTest extends BaseParent {
                 safeAdd(l, "4"));
     }
 
-    @Test
-    public void nullSafeByClass() {
-
-        SampleObject o = new SampleObject("2", 5);
-        Assertions.assertEquals(o, nullSafe(o, SampleObject.class));
-
-        SampleObject ox = nullSafe(null, SampleObject.class);
-        Assertions.assertEquals(0, ox.getIndex());
-        Assertions.assertNull(ox.getValue());
-    }
-
     /**
      * Tests for {@link #d(String)} and {@link #d(double)}.
      */
@@ -578,6 +629,40 @@ class BaseParentTest extends BaseParent {
 
         // double
         Assertions.assertEquals(new BigDecimal("2.0"), d(2.00));
+        Assertions.assertEquals(new BigDecimal("0.0"), d(-0.0));
+        Assertions.assertEquals(new BigDecimal("0.1"), d(0.1));
+        Assertions.assertEquals(new BigDecimal("1.0E7"), d(1e7));
+        Assertions.assertEquals(new BigDecimal("3.0E-6"), d(3e-6));
+        Assertions.assertThrows(NumberFormatException.class, () -> d(Double.NaN));
+
+        // unscaled + scale
+        Assertions.assertEquals(new BigDecimal("123.45"), d(12345, 2));
+        Assertions.assertEquals(new BigDecimal("-0.05"), d(-5, 2));
+        Assertions.assertSame(d(100, 2), d("1.00"));
+        Assertions.assertSame(d("5"), d(5, 0));
+    }
+
+    /**
+     * The fast conversion must give the same values as the {@link BigDecimal} constructor
+     */
+    @Test
+    public void testDecimalFastConversion() {
+
+        Random rnd = new Random(11);
+        for (int i = 0; i < 100000; i++) {
+
+            double v = (i % 2 == 0) ? rnd.nextInt(10000000) / Math.pow(10, rnd.nextInt(6)) : rnd.nextDouble() * 1000;
+            Assertions.assertEquals(new BigDecimal(Double.toString(v)), d(v));
+
+            String str = BigDecimal.valueOf(rnd.nextLong() / (1L << rnd.nextInt(40)), rnd.nextInt(6)).toString();
+            Assertions.assertEquals(new BigDecimal(str), d(str));
+        }
+        for (String str : list("1.", ".5", "+7", "-0.00", "007", "1E+3", "1234567890123456789.5", "12345678901234567890")) {
+            Assertions.assertEquals(new BigDecimal(str), d(str));
+        }
+        for (String str : list("", ".", "-", "1.2.3", "x")) {
+            Assertions.assertThrows(NumberFormatException.class, () -> d(str));
+        }
     }
 
     /**
@@ -632,6 +717,124 @@ class BaseParentTest extends BaseParent {
         Assertions.assertTrue(contains(l, false, "2"));
     }
 
+    /**
+     * Waits for the logging backend before tests. While SLF4J is initializing (e.g. in a concurrently
+     * running test), it provides a {@link SubstituteLoggerFactory} whose loggers report all levels as enabled.
+     */
+    @BeforeAll
+    static void initLogging() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000L;
+        while (LoggerFactory.getILoggerFactory() instanceof SubstituteLoggerFactory
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        Assertions.assertFalse(LoggerFactory.getILoggerFactory() instanceof SubstituteLoggerFactory);
+    }
+
+    @Test
+    public void testLazyLogging() {
+
+        AtomicInteger calls = new AtomicInteger();
+
+        // The debug and trace levels of the static logging functions are off (see logback-test.xml)
+        Logger log = LoggerFactory.getLogger("ru.anr.base.BaseParent");
+        Assertions.assertFalse(log.isDebugEnabled());
+        Assertions.assertFalse(log.isTraceEnabled());
+        debug("Debug: {} {}", calls::incrementAndGet, calls::incrementAndGet);
+        trace("Trace: {}", calls::incrementAndGet);
+        Assertions.assertEquals(0, calls.get());
+
+        warn("Warning: {} {}", calls::incrementAndGet, () -> "x");
+        Assertions.assertEquals(1, calls.get());
+
+        debug("No arguments");
+        warn("Plain arguments: {}", 1);
+
+        Assertions.assertSame(logger(SampleObject.class), logger(SampleObject.class));
+        Assertions.assertEquals(SampleObject.class.getName(), logger(SampleObject.class).getName());
+        Assertions.assertEquals(CoreParentTest.class.getName(), logger().getName());
+    }
+
+    @Test
+    public void testContainsAny() {
+
+        List<String> l = list("1", null, "2");
+        Assertions.assertTrue(contains(l, false, "3", null));
+        Assertions.assertFalse(contains(l, false));
+        Assertions.assertFalse(contains(list(), false, "1"));
+        Assertions.assertTrue(contains(l, false, "a", "b", "c", "d", "e", "2"));
+        Assertions.assertFalse(contains(l, false, "a", "b", "c", "d", "e", "f"));
+
+        // Looking up in a set
+        Set<String> s = set("1", "2", "3");
+        Assertions.assertTrue(contains(s, false, "5", "3"));
+        Assertions.assertFalse(contains(s, false, "5", null));
+
+        // Enums
+        List<RoundingMode> modes = list(RoundingMode.UP, RoundingMode.FLOOR);
+        Assertions.assertTrue(contains(modes, false, RoundingMode.DOWN, RoundingMode.FLOOR));
+        Assertions.assertFalse(contains(modes, false, RoundingMode.DOWN, RoundingMode.CEILING));
+        Assertions.assertTrue(contains(EnumSet.of(RoundingMode.UP), false, RoundingMode.UP, null));
+
+        List<Object> mixed = list(RoundingMode.UP, DayOfWeek.MONDAY);
+        Assertions.assertTrue(contains(mixed, false, RoundingMode.DOWN, DayOfWeek.MONDAY));
+        Assertions.assertFalse(contains(mixed, false, DayOfWeek.SUNDAY));
+    }
+
+    /**
+     * Creates a pool with recognizable names of threads (JUnit runs tests in its own fork-join pool)
+     *
+     * @param parallelism The parallelism
+     * @return The pool
+     */
+    static ForkJoinPool namedPool(int parallelism) {
+        return new ForkJoinPool(parallelism, p -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            t.setName("test-pool-" + t.getPoolIndex());
+            return t;
+        }, null, false);
+    }
+
+    @Test
+    @ResourceLock("ru.anr.base.ParallelUtils") // Changes the global settings
+    public void testContainsInPool() {
+
+        List<Object> l = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        Object probe = new Object() {
+            @Override
+            public boolean equals(Object o) {
+                threads.add(Thread.currentThread().getName());
+                return Integer.valueOf(999).equals(o);
+            }
+
+            @Override
+            public int hashCode() {
+                return 999;
+            }
+        };
+
+        ForkJoinPool pool = namedPool(2);
+        try {
+            ParallelUtils.setThreshold(100);
+            ParallelUtils.setPool(pool);
+
+            Assertions.assertTrue(contains(l, false, probe));
+            Assertions.assertTrue(threads.stream().allMatch(t -> t.startsWith("test-pool-")), threads.toString());
+            Assertions.assertFalse(contains(l, false, -1, 1000));
+
+            // Sequential processing
+            threads.clear();
+            ParallelUtils.setThreshold(Integer.MAX_VALUE);
+            Assertions.assertTrue(contains(l, false, probe));
+            Assertions.assertEquals(set(Thread.currentThread().getName()), threads);
+        } finally {
+            ParallelUtils.setThreshold(ParallelUtils.DEFAULT_THRESHOLD);
+            ParallelUtils.setPool(null);
+            pool.shutdown();
+        }
+    }
+
     @Test
     public void testTotal() {
         List<BigDecimal> l = list(d("1"), d("-2"), d("3"));
@@ -644,6 +847,30 @@ class BaseParentTest extends BaseParent {
         Assertions.assertEquals(d("2"), total(lx, SampleObject::asDecimal));
     }
 
+    @Test
+    public void testTotalAdaptive() {
+
+        Random rnd = new Random(7);
+        List<BigDecimal> same = new ArrayList<>();
+        List<BigDecimal> mixed = new ArrayList<>();
+        for (int i = 0; i < 50000; i++) {
+            same.add(BigDecimal.valueOf(rnd.nextInt(), 2));
+            mixed.add(BigDecimal.valueOf(rnd.nextInt(), rnd.nextInt(5)));
+        }
+        // Overflow of the long range
+        List<BigDecimal> huge = list(BigDecimal.valueOf(Long.MAX_VALUE, 2), BigDecimal.valueOf(Long.MAX_VALUE, 2), d("1.00"));
+
+        for (List<BigDecimal> l : list(same, mixed, huge, list(d("1.50"), d("-1.50")), list(d("1E+3"), d("2")))) {
+            BigDecimal expected = l.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+
+            Assertions.assertEquals(expected, total(l, v -> v));
+            Assertions.assertEquals(expected, total(l, v -> v, 1));
+            Assertions.assertEquals(expected, total(l.stream(), v -> v));
+        }
+        Assertions.assertEquals(BigDecimal.ZERO, total(new ArrayList<BigDecimal>(), v -> v));
+        Assertions.assertEquals(d("0.00"), total(list(d("1.50"), d("-1.50")), v -> v));
+    }
+
     @Test
     public void testOfRunIgnored() {
         runIgnored(x -> {
@@ -683,13 +910,6 @@ class BaseParentTest extends BaseParent {
 
     }
 
-    @Test
-    public void testReadAsString() {
-        Assertions.assertEquals("# Standard properties\n" +
-                "spring.profiles.active=production\n" +
-                "value=${DGC_VALUE}\n", readAsString("./application.properties"));
-    }
-
     @Test
     public void abbreviate() {
         String s = "abcdefghijklmnopqrstuvwxyz";
@@ -701,13 +921,4 @@ class BaseParentTest extends BaseParent {
         Assertions.assertEquals("", abbreviate(s, 0));
         Assertions.assertNull(abbreviate(null, 0));
     }
-
-    @Test
-    public void xml() {
-
-        String xml = "<root>  <a x='${x}'  />\n" + "     <a y='${y}' /> </root>";
-
-        String xml1 = fillString(xml, "x", "123", "y", "321");
-        Assertions.assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?><root><a x=\"123\"/><a y=\"321\"/></root>", cleanUpXML(xml1));
-    }
 }
@@ -18,12 +18,12 @@ import java.util.TimeZone;
  * @created Nov 6, 2014
  */
 
-class BaseParentTimeTest extends BaseParent {
+class CoreParentTimeTest extends CoreParent {
 
     /**
      * Logger
      */
-    private static final Logger logger = LoggerFactory.getLogger(BaseParentTimeTest.class);
+    private static final Logger logger = LoggerFactory.getLogger(CoreParentTimeTest.class);
 
     /**
      * Testing for now. Now() provides the time in UTC time zone.
@@ -134,7 +134,7 @@ class BaseParentTimeTest extends BaseParent {
     }
 
     /**
-     * Test for {@link BaseParent#formatDateTime(ZonedDateTime, String)}
+     * Test for {@link CoreParent#formatDateTime(ZonedDateTime, String)}
      */
     @Test
     void testFormatDate() {
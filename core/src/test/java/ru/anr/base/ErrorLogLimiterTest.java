@@ -0,0 +1,99 @@
+package ru.anr.base;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for limits of error logging.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public class ErrorLogLimiterTest extends CoreParent {
+
+    /**
+     * Call sites
+     */
+    private static class SiteA {
+    }
+
+    private static class SiteB {
+    }
+
+    private static class SiteC {
+    }
+
+    @Test
+    public void testRateLimited() {
+
+        ErrorLogLimiter limiter = new ErrorLogLimiter();
+        limiter.setRate(1.0, 3);
+        long now = System.nanoTime();
+
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(0L, limiter.tryAcquire(SiteA.class, now));
+        }
+        Assertions.assertEquals(ErrorLogLimiter.SUPPRESSED, limiter.tryAcquire(SiteA.class, now));
+        Assertions.assertEquals(ErrorLogLimiter.SUPPRESSED, limiter.tryAcquire(SiteA.class, now));
+
+        // Another call site has its own bucket
+        Assertions.assertEquals(0L, limiter.tryAcquire(SiteB.class, now));
+
+        // One token in a second
+        long later = now + TimeUnit.SECONDS.toNanos(1);
+        Assertions.assertEquals(2L, limiter.tryAcquire(SiteA.class, later));
+        Assertions.assertEquals(ErrorLogLimiter.SUPPRESSED, limiter.tryAcquire(SiteA.class, later));
+        Assertions.assertEquals(3L, limiter.getSuppressedCount());
+    }
+
+    @Test
+    public void testSampled() {
+
+        ErrorLogLimiter limiter = new ErrorLogLimiter();
+        limiter.setSampling(3);
+        long now = System.nanoTime();
+
+        Assertions.assertEquals(0L, limiter.tryAcquire(SiteC.class, now));
+        Assertions.assertEquals(ErrorLogLimiter.SUPPRESSED, limiter.tryAcquire(SiteC.class, now));
+        Assertions.assertEquals(ErrorLogLimiter.SUPPRESSED, limiter.tryAcquire(SiteC.class, now));
+        Assertions.assertEquals(2L, limiter.tryAcquire(SiteC.class, now));
+
+        limiter.setUnlimited();
+        Assertions.assertEquals(0L, limiter.tryAcquire(SiteC.class, now));
+        Assertions.assertEquals(0L, limiter.tryAcquire(SiteC.class, now));
+        Assertions.assertEquals(2L, limiter.getSuppressedCount());
+
+        // Instances do not share state
+        Assertions.assertEquals(0L, new ErrorLogLimiter().getSuppressedCount());
+        Assertions.assertNotSame(limiter, ErrorLogLimiter.global());
+    }
+
+    @Test
+    @ResourceLock("ru.anr.base.ErrorRegistry") // Checks the global counters
+    public void testRunIgnored() {
+
+        // The global limiter with the default limits (other tests run concurrently, so they are not changed)
+        long total = ErrorLogLimiter.getSuppressed();
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            runIgnored(x -> {
+                throw new StacklessApplicationException("Failed", "limiter.test.ignored");
+            });
+        }
+        long elapsed = System.nanoTime() - start;
+
+        // A burst at once and then the refilled tokens
+        long logged = ErrorRegistry.get("limiter.test.ignored").getLogged();
+        long refilled = (long) (elapsed / 1e9 * ErrorLogLimiter.DEFAULT_RATE) + 1;
+        Assertions.assertTrue(logged >= ErrorLogLimiter.DEFAULT_BURST, "Logged: " + logged);
+        Assertions.assertTrue(logged <= ErrorLogLimiter.DEFAULT_BURST + refilled, "Logged: " + logged);
+        Assertions.assertTrue(ErrorLogLimiter.getSuppressed() - total >= 100 - logged);
+
+        Assertions.assertNull(getRunIgnored(x -> {
+            throw new IllegalStateException("Failed");
+        }));
+    }
+}
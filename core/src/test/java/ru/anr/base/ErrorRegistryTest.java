@@ -0,0 +1,95 @@
+package ru.anr.base;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.util.List;
+
+/**
+ * Tests for the error registry.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+@ResourceLock("ru.anr.base.ErrorRegistry") // Checks the global counters and turns them off
+public class ErrorRegistryTest extends CoreParent {
+
+    @Test
+    public void testCounters() {
+
+        new ApplicationException("Failed").setErrorId("registry.test.created");
+        new StacklessApplicationException("Failed", "registry.test.created");
+
+        ErrorRegistry.ErrorStats stats = ErrorRegistry.get("registry.test.created");
+        Assertions.assertEquals(2, stats.getCreated());
+        Assertions.assertEquals(0, stats.getLogged());
+        Assertions.assertNotNull(stats.getLastSeen());
+
+        // Re-setting or changing the id does not count the exception again
+        ApplicationException ex = new ApplicationException("Failed");
+        ex.setErrorId("registry.test.first");
+        ex.setErrorId("registry.test.first");
+        ex.setErrorId("registry.test.second");
+        Assertions.assertEquals("registry.test.second", ex.getErrorId());
+        Assertions.assertEquals(1, ErrorRegistry.get("registry.test.first").getCreated());
+        Assertions.assertEquals(0, ErrorRegistry.get("registry.test.second").getCreated());
+
+        Assertions.assertNull(ErrorRegistry.get("registry.test.unknown"));
+        new ApplicationException("No id");
+        ErrorRegistry.logged(new ApplicationException("No id"));
+        Assertions.assertNull(ErrorRegistry.get(null));
+    }
+
+    @Test
+    public void testCachedAndLogged() {
+
+        for (int i = 0; i < 3; i++) {
+            runIgnored(x -> {
+                throw StacklessApplicationException.cached("registry.test.cached", "Failed");
+            });
+        }
+        ErrorRegistry.ErrorStats stats = ErrorRegistry.get("registry.test.cached");
+        Assertions.assertEquals(3, stats.getCreated());
+        Assertions.assertEquals(3, stats.getLogged());
+    }
+
+    @Test
+    public void testInternAndSnapshot() {
+
+        String id = new String("registry.test.intern");
+        ApplicationException ex = new ApplicationException("Failed");
+        ex.setErrorId(id);
+        ApplicationException other = new ApplicationException("Failed");
+        other.setErrorId(new String("registry.test.intern"));
+        Assertions.assertSame(ex.getErrorId(), other.getErrorId());
+
+        List<ErrorRegistry.ErrorStats> snapshot = ErrorRegistry.snapshot();
+        Assertions.assertTrue(snapshot.stream().anyMatch(s -> s.getErrorId().equals(id) && s.getCreated() == 2));
+        for (int i = 1; i < snapshot.size(); i++) {
+            Assertions.assertTrue(snapshot.get(i - 1).getErrorId().compareTo(snapshot.get(i).getErrorId()) < 0);
+        }
+    }
+
+    @Test
+    public void testDisabled() {
+
+        new ApplicationException("Failed").setErrorId("registry.test.known");
+        ErrorRegistry.setEnabled(false);
+        try {
+            String id = new String("registry.test.disabled");
+            ApplicationException ex = new ApplicationException("Failed");
+            ex.setErrorId(id);
+            Assertions.assertSame(id, ex.getErrorId());
+            Assertions.assertNull(ErrorRegistry.get("registry.test.disabled"));
+
+            // Registered ids are still shared, but not counted
+            ApplicationException other = new ApplicationException("Failed");
+            other.setErrorId(new String("registry.test.known"));
+            Assertions.assertSame(ErrorRegistry.get("registry.test.known").getErrorId(), other.getErrorId());
+            Assertions.assertEquals(1, ErrorRegistry.get("registry.test.known").getCreated());
+        } finally {
+            ErrorRegistry.setEnabled(true);
+        }
+    }
+}
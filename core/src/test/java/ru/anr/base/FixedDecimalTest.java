@@ -0,0 +1,138 @@
+package ru.anr.base;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+/**
+ * Tests for {@link FixedDecimal}.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public class FixedDecimalTest extends CoreParent {
+
+    @Test
+    public void testConversion() {
+
+        FixedDecimal v = FixedDecimal.of(12345, 2);
+        Assertions.assertTrue(v.isCompact());
+        Assertions.assertEquals(d("123.45"), v.toBigDecimal());
+        Assertions.assertEquals(v, FixedDecimal.of(d("123.45")));
+        Assertions.assertEquals(v, FixedDecimal.of("123.45"));
+        Assertions.assertEquals("123.45", v.toString());
+
+        // Rounding to the scale
+        Assertions.assertEquals(FixedDecimal.of(1235, 1), FixedDecimal.of(d("123.45"), 1));
+
+        // Not the long range
+        FixedDecimal big = FixedDecimal.of(d("123456789012345678901234567890.12"));
+        Assertions.assertFalse(big.isCompact());
+        Assertions.assertEquals(d("123456789012345678901234567890.12"), big.toBigDecimal());
+        Assertions.assertThrows(ArithmeticException.class, big::unscaledValue);
+
+        Assertions.assertEquals(123.45, v.doubleValue());
+        Assertions.assertEquals(123L, v.longValue());
+        Assertions.assertEquals(-123L, v.negate().longValue());
+    }
+
+    @Test
+    public void testArithmetic() {
+
+        FixedDecimal a = FixedDecimal.of("10.50");
+        FixedDecimal b = FixedDecimal.of("3.1");
+
+        Assertions.assertEquals(d("13.60"), a.add(b).toBigDecimal());
+        Assertions.assertEquals(d("7.40"), a.subtract(b).toBigDecimal());
+        Assertions.assertEquals(d("32.550"), a.multiply(b).toBigDecimal());
+        Assertions.assertEquals(d("32.55"), a.multiply(b, 2).toBigDecimal());
+        Assertions.assertEquals(d("3.39"), a.divide(b, 2).toBigDecimal());
+        Assertions.assertEquals(d("3.387"), a.divide(b, 3).toBigDecimal());
+
+        // HALF_UP like in scale()
+        Assertions.assertEquals(d("2.35"), FixedDecimal.of("2.345").setScale(2).toBigDecimal());
+        Assertions.assertEquals(d("-2.35"), FixedDecimal.of("-2.345").setScale(2).toBigDecimal());
+        Assertions.assertEquals(d("-2.34"), FixedDecimal.of("-2.344").setScale(2).toBigDecimal());
+
+        Assertions.assertThrows(ArithmeticException.class, () -> a.divide(FixedDecimal.ZERO, 2));
+    }
+
+    @Test
+    public void testOverflow() {
+
+        FixedDecimal max = FixedDecimal.of(Long.MAX_VALUE, 2);
+        FixedDecimal r = max.add(FixedDecimal.of(1, 2));
+
+        Assertions.assertFalse(r.isCompact());
+        Assertions.assertEquals(max.toBigDecimal().add(d("0.01")), r.toBigDecimal());
+
+        r = max.multiply(FixedDecimal.of(3, 0));
+        Assertions.assertEquals(max.toBigDecimal().multiply(d("3")), r.toBigDecimal());
+
+        // Back to the long range
+        Assertions.assertTrue(r.subtract(r).isCompact());
+        Assertions.assertEquals(d("0.00"), r.subtract(r).toBigDecimal());
+
+        Assertions.assertEquals(BigDecimal.valueOf(Long.MIN_VALUE).negate(),
+                FixedDecimal.of(Long.MIN_VALUE, 0).negate().toBigDecimal());
+    }
+
+    /**
+     * All operations must give the same results as the {@link BigDecimal} ones
+     */
+    @Test
+    public void testSameAsBigDecimal() {
+
+        Random rnd = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+
+            long ua = (i % 10 == 0) ? rnd.nextLong() : rnd.nextInt();
+            long ub = (i % 7 == 0) ? rnd.nextLong() : rnd.nextInt(100000) - 50000;
+            int sa = rnd.nextInt(6);
+            int sb = rnd.nextInt(6);
+            int s = rnd.nextInt(8);
+
+            BigDecimal a = BigDecimal.valueOf(ua, sa);
+            BigDecimal b = BigDecimal.valueOf(ub, sb);
+            FixedDecimal fa = FixedDecimal.of(ua, sa);
+            FixedDecimal fb = FixedDecimal.of(ub, sb);
+
+            Assertions.assertEquals(a.add(b), fa.add(fb).toBigDecimal());
+            Assertions.assertEquals(a.subtract(b), fa.subtract(fb).toBigDecimal());
+            Assertions.assertEquals(a.multiply(b), fa.multiply(fb).toBigDecimal());
+            Assertions.assertEquals(scale(a, s), fa.setScale(s).toBigDecimal());
+            Assertions.assertEquals(a.compareTo(b), fa.compareTo(fb));
+            Assertions.assertEquals(a.doubleValue(), fa.doubleValue());
+            if (ub != 0) {
+                Assertions.assertEquals(div(a, b, s), fa.divide(fb, s).toBigDecimal());
+            }
+        }
+    }
+
+    @Test
+    public void testAggregates() {
+
+        long[] values = {100, 250, -50, 1};
+        Assertions.assertEquals(d("3.01"), FixedDecimal.sum(values, 2).toBigDecimal());
+        Assertions.assertEquals(FixedDecimal.ZERO, FixedDecimal.sum());
+        Assertions.assertEquals(d("3.5"),
+                FixedDecimal.sum(FixedDecimal.of("1.5"), FixedDecimal.of("2")).toBigDecimal());
+
+        // Overflow
+        long[] big = {Long.MAX_VALUE, Long.MAX_VALUE, 2};
+        Assertions.assertEquals(BigDecimal.valueOf(Long.MAX_VALUE).multiply(d("2")).add(d("2")),
+                FixedDecimal.sum(big, 0).toBigDecimal());
+
+        // Quantity x price
+        Assertions.assertEquals(d("11.500"),
+                FixedDecimal.dot(new long[]{2, 15}, 1, new long[]{500, 700}, 2).toBigDecimal());
+
+        BigDecimal[] decimals = {d("1.005"), d("2"), d("-3.1")};
+        long[] unscaled = FixedDecimal.unscaled(decimals, 2);
+        Assertions.assertArrayEquals(new long[]{101, 200, -310}, unscaled);
+        Assertions.assertArrayEquals(new BigDecimal[]{d("1.01"), d("2.00"), d("-3.10")},
+                FixedDecimal.toBigDecimals(unscaled, 2));
+    }
+}
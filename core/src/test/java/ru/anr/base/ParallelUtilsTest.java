@@ -0,0 +1,139 @@
+package ru.anr.base;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Tests for parallel helpers.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+@ResourceLock("ru.anr.base.ParallelUtils") // Changes the global settings
+public class ParallelUtilsTest extends CoreParent {
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    public void setUp() {
+        // Recognizable names of threads (JUnit runs tests in its own fork-join pool)
+        pool = new ForkJoinPool(4, p -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            t.setName("test-pool-" + t.getPoolIndex());
+            return t;
+        }, null, false);
+        ParallelUtils.setThreshold(100);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ParallelUtils.setThreshold(ParallelUtils.DEFAULT_THRESHOLD);
+        ParallelUtils.setPool(null);
+        pool.shutdown();
+    }
+
+    @Test
+    public void testParallelMap() {
+
+        List<Integer> l = IntStream.range(0, 10_000).boxed().collect(Collectors.toList());
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        List<String> rs = ParallelUtils.parallelMap(pool, 3, l, i -> {
+            threads.add(Thread.currentThread().getName());
+            return "v" + i;
+        }, true);
+
+        Assertions.assertEquals(l.stream().map(i -> "v" + i).collect(Collectors.toList()), rs);
+        Assertions.assertTrue(threads.size() <= 3, threads.toString());
+        Assertions.assertTrue(threads.stream().allMatch(t -> t.startsWith("test-pool-")), threads.toString());
+
+        // Unordered: the same elements
+        List<String> unordered = ParallelUtils.parallelMap(pool, 4, new HashSet<>(l), i -> "v" + i, false);
+        Assertions.assertEquals(new HashSet<>(rs), new HashSet<>(unordered));
+        Assertions.assertEquals(rs.size(), unordered.size());
+
+        // Sequential for small collections
+        threads.clear();
+        List<String> small = ParallelUtils.parallelMap(pool, 4, list(1, 2), i -> {
+            threads.add(Thread.currentThread().getName());
+            return "v" + i;
+        }, true);
+        Assertions.assertEquals(list("v1", "v2"), small);
+        Assertions.assertEquals(set(Thread.currentThread().getName()), threads);
+    }
+
+    @Test
+    public void testParallelFilterAndExtract() {
+
+        List<Integer> l = new LinkedList<>(IntStream.range(0, 5_000).boxed().collect(Collectors.toList()));
+
+        List<Integer> even = ParallelUtils.parallelFilter(pool, 4, l, i -> i % 2 == 0, true);
+        Assertions.assertEquals(l.stream().filter(i -> i % 2 == 0).collect(Collectors.toList()), even);
+
+        Assertions.assertEquals(set(0, 1, 2), ParallelUtils.parallelExtract(pool, 4, l, i -> i % 3));
+
+        // Errors are propagated
+        Assertions.assertThrows(IllegalStateException.class, () -> ParallelUtils.parallelMap(pool, 4, l, i -> {
+            if (i == 4000) {
+                throw new IllegalStateException("Failed");
+            }
+            return i;
+        }, true));
+    }
+
+    @Test
+    public void testShortcuts() {
+
+        ParallelUtils.setPool(pool);
+        List<Integer> l = IntStream.range(0, 1_000).boxed().collect(Collectors.toList());
+
+        Assertions.assertEquals(l.stream().map(i -> i * 2).collect(Collectors.toList()), parallelMap(l, i -> i * 2));
+        Assertions.assertEquals(filter(l, i -> i > 990), parallelFilter(l, i -> i > 990));
+        Assertions.assertEquals(extract(l, i -> i % 10), parallelExtract(l, i -> i % 10));
+        Assertions.assertEquals(list(), parallelMap(list(), i -> i));
+    }
+
+    @Test
+    public void testTotalAndColumnsInPool() {
+
+        ParallelUtils.setPool(pool);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        List<Integer> l = IntStream.range(0, 1_000).boxed().collect(Collectors.toList());
+        Assertions.assertEquals(BigDecimal.valueOf(499_500), total(l, i -> {
+            threads.add(Thread.currentThread().getName());
+            return BigDecimal.valueOf(i);
+        }, 100));
+        Assertions.assertTrue(threads.stream().allMatch(t -> t.startsWith("test-pool-")), threads.toString());
+
+        // Large columns
+        threads.clear();
+        BigDecimal value = new BigDecimal("1.5") {
+            @Override
+            public BigDecimal setScale(int newScale, RoundingMode roundingMode) {
+                threads.add(Thread.currentThread().getName());
+                return super.setScale(newScale, roundingMode);
+            }
+        };
+        BigDecimal[] column = new BigDecimal[ColumnFormat.PARALLEL_THRESHOLD];
+        Arrays.fill(column, value);
+
+        String rs = AmountFormats.column(2, true, false, "", Locale.ENGLISH)
+                .format(new StringBuilder(), column, ";").toString();
+        Assertions.assertTrue(rs.startsWith("1.50;1.50;"));
+        Assertions.assertEquals(column.length * "1.50;".length() - 1, rs.length());
+        Assertions.assertTrue(threads.stream().allMatch(t -> t.startsWith("test-pool-")), threads.toString());
+    }
+}
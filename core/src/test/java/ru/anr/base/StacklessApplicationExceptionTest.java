@@ -0,0 +1,58 @@
+package ru.anr.base;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for lightweight exceptions.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public class StacklessApplicationExceptionTest extends CoreParent {
+
+    @Test
+    public void testStackless() {
+
+        ApplicationException ex = new StacklessApplicationException("Invalid value", "validation.failed");
+        Assertions.assertEquals(0, ex.getStackTrace().length);
+        Assertions.assertFalse(ex.isLogFullStack());
+        Assertions.assertEquals("validation.failed", ex.getErrorId());
+        Assertions.assertEquals("Invalid value", ex.getMessage());
+
+        ex = new StacklessApplicationException("Failed", new IllegalStateException("Root"));
+        Assertions.assertEquals("Root", ex.getCause().getMessage());
+        Assertions.assertEquals(0, ex.getStackTrace().length);
+
+        // The usual exception has the stack
+        Assertions.assertTrue(new ApplicationException("x").getStackTrace().length > 0);
+    }
+
+    @Test
+    public void testCached() {
+
+        StacklessApplicationException ex = StacklessApplicationException.cached("not.found", "Not found");
+        Assertions.assertSame(ex, StacklessApplicationException.cached("not.found", "Other message"));
+        Assertions.assertEquals("Not found", ex.getMessage());
+        Assertions.assertTrue(ex.isShared());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> ex.setErrorId("x"));
+
+        ApplicationException thrown = Assertions.assertThrows(ApplicationException.class, () -> {
+            throw StacklessApplicationException.cached("not.found", "Not found");
+        });
+        Assertions.assertSame(ex, thrown);
+        Assertions.assertEquals(0, thrown.getStackTrace().length);
+
+        // The shared state cannot be changed
+        ex.setStackTrace(new ApplicationException("x").getStackTrace());
+        Assertions.assertEquals(0, ex.getStackTrace().length);
+        Assertions.assertThrows(IllegalStateException.class, () -> ex.initCause(new IllegalStateException()));
+        Assertions.assertNull(ex.getCause());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> StacklessApplicationException.cached(null, "x"));
+
+        // Other instances allow to set the stack
+        ApplicationException other = new StacklessApplicationException("Failed");
+        other.setStackTrace(new ApplicationException("x").getStackTrace());
+        Assertions.assertTrue(other.getStackTrace().length > 0);
+    }
+}
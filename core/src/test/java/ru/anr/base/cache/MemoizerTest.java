@@ -0,0 +1,162 @@
+package ru.anr.base.cache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import ru.anr.base.CoreParent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tests for the memoizer.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public class MemoizerTest extends CoreParent {
+
+    @Test
+    public void testMemoize() {
+
+        AtomicInteger calls = new AtomicInteger();
+        Memoizer<String, Integer> f = memoize(s -> {
+            calls.incrementAndGet();
+            return s == null ? -1 : s.length();
+        });
+
+        Assertions.assertEquals(3, f.apply("abc").intValue());
+        Assertions.assertEquals(3, f.apply("abc").intValue());
+        Assertions.assertEquals(-1, f.apply(null).intValue());
+        Assertions.assertEquals(-1, f.apply(null).intValue());
+        Assertions.assertEquals(2, calls.get());
+
+        CacheStats stats = f.stats();
+        Assertions.assertEquals(2, stats.getHits());
+        Assertions.assertEquals(2, stats.getMisses());
+        Assertions.assertEquals(0.5, stats.getHitRate(), 1e-9);
+        Assertions.assertTrue(stats.getTotalLoadTime() > 0);
+
+        f.invalidate("abc");
+        Assertions.assertEquals(3, f.apply("abc").intValue());
+        Assertions.assertEquals(3, calls.get());
+
+        f.invalidateAll();
+        Assertions.assertEquals(0, f.size());
+    }
+
+    @Test
+    public void testFailuresAreNotCached() {
+
+        AtomicInteger calls = new AtomicInteger();
+        Memoizer<String, String> f = memoize(s -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("Failed");
+            }
+            return s;
+        });
+
+        Assertions.assertThrows(IllegalStateException.class, () -> f.apply("x"));
+        Assertions.assertEquals("x", f.apply("x"));
+        Assertions.assertEquals(1, f.stats().getLoadFailures());
+        Assertions.assertEquals(1, f.size());
+    }
+
+    @Test
+    public void testSingleFlight() throws Exception {
+
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        Memoizer<String, String> f = memoize(s -> {
+            calls.incrementAndGet();
+            started.countDown();
+            sleep(200);
+            return s + "!";
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> f.apply("x")));
+            started.await();
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> f.apply("x")));
+            }
+            for (Future<String> r : results) {
+                Assertions.assertEquals("x!", r.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assertions.assertEquals(1, calls.get());
+        Assertions.assertEquals(7, f.stats().getHits());
+    }
+
+    @Test
+    public void testExpiration() {
+
+        AtomicLong time = new AtomicLong();
+        AtomicInteger calls = new AtomicInteger();
+        Memoizer<String, Integer> f = new Memoizer<>(s -> calls.incrementAndGet(), 0, Memoizer.Eviction.LRU,
+                Duration.ofSeconds(10), time::get);
+
+        Assertions.assertEquals(1, f.apply("x").intValue());
+        time.addAndGet(Duration.ofSeconds(9).toNanos());
+        Assertions.assertEquals(1, f.apply("x").intValue());
+        time.addAndGet(Duration.ofSeconds(1).toNanos());
+        Assertions.assertEquals(2, f.apply("x").intValue()); // Expired
+        Assertions.assertEquals(2, f.apply("x").intValue());
+    }
+
+    @Test
+    public void testLru() {
+
+        Memoizer<String, String> f = new Memoizer<>(s -> s + "!", 2, Memoizer.Eviction.LRU, null);
+        f.apply("a");
+        f.apply("b");
+        f.apply("a");
+        f.apply("c"); // Evicts "b"
+
+        Assertions.assertEquals(2, f.size());
+        Assertions.assertEquals(1, f.stats().getEvictions());
+
+        long misses = f.stats().getMisses();
+        f.apply("a");
+        Assertions.assertEquals(misses, f.stats().getMisses());
+        f.apply("b");
+        Assertions.assertEquals(misses + 1, f.stats().getMisses());
+    }
+
+    @Test
+    public void testTinyLfuResistsScans() {
+
+        Assertions.assertTrue(hotMissesAfterScan(Memoizer.Eviction.TINY_LFU) < 10);
+        Assertions.assertEquals(50, hotMissesAfterScan(Memoizer.Eviction.LRU));
+    }
+
+    private static long hotMissesAfterScan(Memoizer.Eviction eviction) {
+
+        Memoizer<Integer, Integer> f = new Memoizer<>(i -> i, 100, eviction, null);
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 50; i++) {
+                f.apply(i);
+            }
+        }
+        for (int i = 1000; i < 3000; i++) { // A scan of one-time keys
+            f.apply(i);
+        }
+        Assertions.assertTrue(f.size() <= 100);
+
+        long misses = f.stats().getMisses();
+        for (int i = 0; i < 50; i++) {
+            f.apply(i);
+        }
+        return f.stats().getMisses() - misses;
+    }
+}
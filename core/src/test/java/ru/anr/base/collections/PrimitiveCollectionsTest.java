@@ -0,0 +1,165 @@
+package ru.anr.base.collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import ru.anr.base.CoreParent;
+
+import java.util.*;
+
+/**
+ * Tests for primitive collections.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public class PrimitiveCollectionsTest extends CoreParent {
+
+    @Test
+    public void testLongList() {
+
+        LongList l = longList(3, 1, 2);
+        Assertions.assertEquals(3, l.size());
+        Assertions.assertEquals(1L, l.get(1));
+        Assertions.assertTrue(l.contains(2));
+        Assertions.assertFalse(l.contains(5));
+
+        for (int i = 0; i < 100; i++) {
+            l.add(i);
+        }
+        Assertions.assertEquals(103, l.size());
+        Assertions.assertEquals(99L, l.get(102));
+
+        Assertions.assertEquals(3L, l.removeAt(0));
+        Assertions.assertEquals(1L, l.set(0, 7));
+        Assertions.assertEquals(7L, l.get(0));
+        Assertions.assertEquals(l.stream().sum(), 7 + 2 + 4950);
+
+        l.sort();
+        Assertions.assertEquals(0L, l.get(0));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> l.get(102));
+
+        Assertions.assertEquals(longList(1, 2), longList(1, 2));
+        Assertions.assertEquals(longList(1, 2).hashCode(), longList(1, 2).hashCode());
+        Assertions.assertEquals("[1, 2]", longList(1, 2).toString());
+        Assertions.assertEquals(intList(1, 2, 3), IntList.of(1, 2, 3));
+    }
+
+    @Test
+    public void testLongSet() {
+
+        LongSet s = longSet(0, 1, 1, -5, Long.MIN_VALUE);
+        Assertions.assertEquals(4, s.size());
+        Assertions.assertTrue(s.contains(0));
+        Assertions.assertTrue(s.contains(Long.MIN_VALUE));
+        Assertions.assertFalse(s.contains(2));
+
+        // Compare with the boxed set
+        Random rnd = new Random(5);
+        Set<Long> expected = new HashSet<>();
+        LongSet actual = new LongSet();
+        for (int i = 0; i < 200000; i++) {
+            long v = rnd.nextInt(5000) - 100;
+            if (rnd.nextInt(3) == 0) {
+                Assertions.assertEquals(expected.remove(v), actual.remove(v));
+            } else {
+                Assertions.assertEquals(expected.add(v), actual.add(v));
+            }
+        }
+        Assertions.assertEquals(expected.size(), actual.size());
+        for (long v = -200; v < 5000; v++) {
+            Assertions.assertEquals(expected.contains(v), actual.contains(v));
+        }
+
+        Set<Long> iterated = new HashSet<>();
+        actual.forEach(iterated::add);
+        Assertions.assertEquals(expected, iterated);
+
+        iterated.clear();
+        actual.iterator().forEachRemaining((Long v) -> iterated.add(v));
+        Assertions.assertEquals(expected, iterated);
+        Assertions.assertEquals(expected.size(), actual.toArray().length);
+
+        Assertions.assertEquals(longSet(1, 2, 0), longSet(0, 2, 1));
+        Assertions.assertNotEquals(longSet(1, 2), longSet(0, 2, 1));
+
+        actual.clear();
+        Assertions.assertTrue(actual.isEmpty());
+        Assertions.assertFalse(actual.contains(0));
+    }
+
+    @Test
+    public void testIntSet() {
+
+        Random rnd = new Random(6);
+        Set<Integer> expected = new HashSet<>();
+        IntSet actual = intSet();
+        for (int i = 0; i < 100000; i++) {
+            int v = rnd.nextInt(3000) - 100;
+            if (rnd.nextInt(3) == 0) {
+                Assertions.assertEquals(expected.remove(v), actual.remove(v));
+            } else {
+                Assertions.assertEquals(expected.add(v), actual.add(v));
+            }
+        }
+        Assertions.assertEquals(expected.size(), actual.size());
+        for (int v = -200; v < 3000; v++) {
+            Assertions.assertEquals(expected.contains(v), actual.contains(v));
+        }
+    }
+
+    @Test
+    public void testLongMap() {
+
+        Random rnd = new Random(7);
+        Map<Long, String> expected = new HashMap<>();
+        LongMap<String> actual = new LongMap<>(4);
+        for (int i = 0; i < 200000; i++) {
+            long k = rnd.nextInt(5000) - 100;
+            if (rnd.nextInt(3) == 0) {
+                Assertions.assertEquals(expected.remove(k), actual.remove(k));
+            } else {
+                Assertions.assertEquals(expected.put(k, "v" + i), actual.put(k, "v" + i));
+            }
+        }
+        Assertions.assertEquals(expected.size(), actual.size());
+        for (long k = -200; k < 5000; k++) {
+            Assertions.assertEquals(expected.get(k), actual.get(k));
+        }
+
+        Map<Long, String> iterated = new HashMap<>();
+        actual.forEach(iterated::put);
+        Assertions.assertEquals(expected, iterated);
+        Assertions.assertEquals(expected.size(), actual.keySet().size());
+
+        Assertions.assertEquals("x", actual.computeIfAbsent(100000, k -> "x"));
+        Assertions.assertEquals("x", actual.computeIfAbsent(100000, k -> "y"));
+        Assertions.assertEquals("d", actual.getOrDefault(-100000, "d"));
+        Assertions.assertThrows(NullPointerException.class, () -> actual.put(1, null));
+
+        IntMap<String> m = new IntMap<>();
+        m.put(0, "zero");
+        m.put(1, "one");
+        Assertions.assertEquals("{0=zero, 1=one}", m.toString());
+    }
+
+    @Test
+    public void testExtract() {
+
+        List<String> l = list("1", "2", "2", "30");
+        Assertions.assertEquals(longSet(1, 2, 30), extractLongs(l, Long::parseLong));
+        Assertions.assertEquals(intSet(1, 1, 2), extractInts(l, String::length));
+    }
+
+    @Test
+    public void testMaxCapacity() {
+
+        Assertions.assertEquals(HashUtils.MAX_CAPACITY, HashUtils.tableSize(Integer.MAX_VALUE));
+        int threshold = HashUtils.threshold(HashUtils.MAX_CAPACITY);
+        Assertions.assertEquals(HashUtils.MAX_CAPACITY - 1, threshold);
+
+        // A full table of the max size must not grow further (the next size overflows)
+        Assertions.assertFalse(HashUtils.isFull(threshold - 1, threshold, HashUtils.MAX_CAPACITY));
+        Assertions.assertTrue(HashUtils.isFull(threshold, threshold, HashUtils.MAX_CAPACITY));
+        Assertions.assertFalse(HashUtils.isFull(96, 96, 128));
+    }
+}
@@ -0,0 +1,96 @@
+package ru.anr.base.collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import ru.anr.base.CoreParent;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for lazy collection views.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public class ViewsTest extends CoreParent {
+
+    @Test
+    public void testFilterView() {
+
+        List<String> l = list("xx", "xy", "yy");
+        AtomicInteger calls = new AtomicInteger();
+
+        Collection<String> view = filterView(l, s -> {
+            calls.incrementAndGet();
+            return s.startsWith("x");
+        });
+        Assertions.assertEquals(0, calls.get()); // Nothing is evaluated yet
+
+        Assertions.assertEquals("xx", first(view));
+        Assertions.assertEquals(1, calls.get()); // Stopped at the first match
+
+        Assertions.assertEquals(2, view.size());
+        Assertions.assertEquals(list("xx", "xy"), new ArrayList<>(view));
+        Assertions.assertTrue(view.contains("xy"));
+        Assertions.assertFalse(view.contains("yy"));
+
+        // The view reflects changes of the source
+        l.add("xz");
+        Assertions.assertEquals(list("xx", "xy", "xz"), new ArrayList<>(view));
+        l.clear();
+        Assertions.assertTrue(view.isEmpty());
+        Assertions.assertNull(first(view));
+
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> view.add("x"));
+        Assertions.assertThrows(NoSuchElementException.class, () -> view.iterator().next());
+        Assertions.assertNull(filterView(null, s -> true));
+    }
+
+    @Test
+    public void testMappedView() {
+
+        List<String> l = new LinkedList<>(list("a", "bb", "ccc"));
+
+        List<Integer> lengths = mapView(l, String::length);
+        Assertions.assertEquals(list(1, 2, 3), lengths);
+        Assertions.assertEquals(3, lengths.get(2).intValue());
+        Assertions.assertFalse(lengths instanceof RandomAccess);
+        Assertions.assertTrue(mapView(list("a"), String::length) instanceof RandomAccess);
+
+        ListIterator<Integer> it = lengths.listIterator(3);
+        Assertions.assertEquals(3, it.previous().intValue());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> it.set(5));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> lengths.add(5));
+
+        Collection<Integer> keys = extractView(set("x", "yy", "zz"), String::length);
+        Assertions.assertEquals(3, keys.size());
+        Assertions.assertEquals(set(1, 2), new HashSet<>(keys));
+        Assertions.assertEquals(set(1, 2), extract(set("x", "yy", "zz"), String::length));
+
+        l.add("dddd");
+        Assertions.assertEquals(list(1, 2, 3, 4), lengths);
+
+        // The same null contract as filterView()
+        Assertions.assertNull(mapView(null, String::length));
+        Assertions.assertNull(extractView(null, String::length));
+        Assertions.assertThrows(NullPointerException.class, () -> Views.map((List<String>) null, String::length));
+        Assertions.assertThrows(NullPointerException.class, () -> Views.filter(null, s -> true));
+    }
+
+    @Test
+    public void testUnmodifiableView() {
+
+        List<String> l = list("x");
+        List<String> view = view(l);
+        l.add("y");
+
+        Assertions.assertEquals(list("x", "y"), view);
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> view.add("z"));
+        Assertions.assertEquals(list(), view(null));
+
+        Assertions.assertEquals("y", first(l, s -> s.startsWith("y")));
+        Assertions.assertNull(first(l, s -> s.startsWith("z")));
+        Assertions.assertNull(first((List<String>) null, s -> true));
+    }
+}
@@ -0,0 +1,163 @@
+package ru.anr.base.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import ru.anr.base.CoreParent;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the latency histogram.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+@ResourceLock("ru.anr.base.metrics.Instrumentation") // Installs global metrics (see ThreadMetrics)
+public class LatencyHistogramTest extends CoreParent {
+
+    @AfterEach
+    public void tearDown() {
+        Instrumentation.setMetrics(Metrics.NOOP);
+    }
+
+    @Test
+    public void testBuckets() {
+
+        int p = LatencyHistogram.DEFAULT_PRECISION;
+        long[] values = {0, 1, 31, 32, 33, 63, 64, 1000, 123_456_789, Long.MAX_VALUE};
+        for (long v : values) {
+            int b = LatencyHistogram.bucket(v, p);
+            Assertions.assertTrue(b < LatencyHistogram.bucketCount(p));
+            Assertions.assertTrue(LatencyHistogram.lowerBound(b, p) <= v, "Value " + v);
+            Assertions.assertTrue(LatencyHistogram.upperBound(b, p) >= v, "Value " + v);
+        }
+        Assertions.assertEquals(LatencyHistogram.bucketCount(p) - 1, LatencyHistogram.bucket(Long.MAX_VALUE, p));
+    }
+
+    @Test
+    public void testPercentiles() {
+
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 1; i <= 10_000; i++) {
+            h.record(i * 1000L);
+        }
+        HistogramSnapshot s = h.snapshot();
+        Assertions.assertEquals(10_000, s.getCount());
+        Assertions.assertEquals(1000, s.getMin());
+        Assertions.assertEquals(10_000_000, s.getMax());
+        Assertions.assertEquals(5_000_500.0, s.getMean(), 1e-6);
+
+        assertNear(5_000_000, s.getValueAtPercentile(50.0));
+        assertNear(9_900_000, s.getValueAtPercentile(99.0));
+        Assertions.assertEquals(10_000_000, s.getValueAtPercentile(100.0));
+        assertNear(1000, s.getValueAtPercentile(0.0));
+
+        Assertions.assertEquals(0, new LatencyHistogram().snapshot().getValueAtPercentile(99.0));
+    }
+
+    private static void assertNear(long expected, long actual) {
+        Assertions.assertTrue(Math.abs(actual - expected) <= expected / 32, expected + " vs " + actual);
+    }
+
+    @Test
+    public void testMergeAndIntervals() {
+
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        a.record(10);
+        a.record(20);
+        b.record(1_000_000);
+
+        HistogramSnapshot merged = a.snapshot().merge(b.snapshot());
+        Assertions.assertEquals(3, merged.getCount());
+        Assertions.assertEquals(10, merged.getMin());
+        Assertions.assertEquals(1_000_000, merged.getMax());
+
+        a.add(b.snapshot());
+        Assertions.assertEquals(3, a.snapshot().getCount());
+        Assertions.assertEquals(1_000_010 + 20, a.snapshot().getTotal());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> a.add(new LatencyHistogram(3).snapshot()));
+
+        Assertions.assertEquals(3, a.intervalSnapshot().getCount());
+        Assertions.assertEquals(0, a.intervalSnapshot().getCount());
+        a.record(500);
+        HistogramSnapshot interval = a.intervalSnapshot();
+        Assertions.assertEquals(1, interval.getCount());
+        Assertions.assertTrue(interval.getMin() <= 500 && interval.getMax() >= 500);
+        Assertions.assertEquals(4, a.snapshot().getCount());
+
+        a.reset();
+        Assertions.assertEquals(0, a.snapshot().getCount());
+    }
+
+    @Test
+    public void testConcurrentRecording() throws Exception {
+
+        LatencyHistogram h = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                Random r = new Random();
+                for (int i = 0; i < 100_000; i++) {
+                    h.record(r.nextInt(1_000_000));
+                }
+            });
+        }
+        executor.shutdown();
+        long limit = LatencyHistogram.upperBound(LatencyHistogram.bucket(999_999, h.getPrecision()), h.getPrecision());
+        while (!executor.isTerminated()) {
+            HistogramSnapshot s = h.snapshot();
+            if (s.getCount() > 0) {
+                Assertions.assertTrue(s.getMin() >= 0 && s.getMin() <= s.getMax() && s.getMax() <= limit,
+                        s.getMin() + " - " + s.getMax());
+            }
+        }
+        Assertions.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        Assertions.assertEquals(400_000, h.snapshot().getCount());
+    }
+
+    @Test
+    public void testSnapshotBounds() {
+
+        int p = LatencyHistogram.DEFAULT_PRECISION;
+        long[] c = new long[LatencyHistogram.bucketCount(p)];
+        int lowest = LatencyHistogram.bucket(1000, p);
+        int highest = LatencyHistogram.bucket(5000, p);
+        c[lowest] = 1;
+        c[highest] = 2;
+
+        // Not updated yet
+        Assertions.assertEquals(LatencyHistogram.lowerBound(lowest, p), LatencyHistogram.boundMin(c, Long.MAX_VALUE, p));
+        Assertions.assertEquals(LatencyHistogram.upperBound(highest, p), LatencyHistogram.boundMax(c, Long.MIN_VALUE, p));
+
+        // Outside the buckets (a concurrent reset or recording)
+        Assertions.assertEquals(LatencyHistogram.lowerBound(lowest, p), LatencyHistogram.boundMin(c, 10, p));
+        Assertions.assertEquals(LatencyHistogram.upperBound(highest, p), LatencyHistogram.boundMax(c, 1_000_000, p));
+
+        // Consistent values are kept
+        Assertions.assertEquals(1000, LatencyHistogram.boundMin(c, 1000, p));
+        Assertions.assertEquals(5000, LatencyHistogram.boundMax(c, 5000, p));
+        Assertions.assertEquals(Long.MAX_VALUE, LatencyHistogram.boundMin(new long[c.length], Long.MAX_VALUE, p));
+    }
+
+    @Test
+    public void testWaitConditionTiming() {
+
+        InMemoryMetrics metrics = new ThreadMetrics();
+        Instrumentation.setMetrics(metrics);
+
+        Assertions.assertFalse(waitCondition("test", 1, 10, false, args -> true));
+        Assertions.assertTrue(waitCondition("test", 1, 250, false, args -> false));
+
+        HistogramSnapshot s = metrics.snapshot().timer("base.waitCondition");
+        Assertions.assertEquals(2, s.getCount());
+        Assertions.assertEquals(1, metrics.snapshot().counter("base.waitCondition.errors"));
+        Assertions.assertTrue(s.getValueAtPercentile(100.0) >= 10_000_000L);
+    }
+}
@@ -0,0 +1,43 @@
+package ru.anr.base.metrics;
+
+/**
+ * In-memory metrics which record only the calls of the thread which has created them. Tests run
+ * concurrently, so the helpers called by other tests while the metrics are installed are not counted.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 19, 2026
+ */
+class ThreadMetrics extends InMemoryMetrics {
+
+    private final Thread owner = Thread.currentThread();
+
+    @Override
+    public Timer timer(String name) {
+        Timer timer = super.timer(name);
+        return nanos -> {
+            if (Thread.currentThread() == owner) {
+                timer.record(nanos);
+            }
+        };
+    }
+
+    @Override
+    public Counter counter(String name) {
+        Counter counter = super.counter(name);
+        return delta -> {
+            if (Thread.currentThread() == owner) {
+                counter.increment(delta);
+            }
+        };
+    }
+
+    @Override
+    public Histogram histogram(String name) {
+        Histogram histogram = super.histogram(name);
+        return value -> {
+            if (Thread.currentThread() == owner) {
+                histogram.record(value);
+            }
+        };
+    }
+}
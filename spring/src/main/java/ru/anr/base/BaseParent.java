@@ -0,0 +1,292 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.collections4.FactoryUtils;
+import org.apache.commons.collections4.FunctorException;
+import org.apache.commons.io.IOUtils;
+import org.springframework.core.io.ClassPathResource;
+import ru.anr.base.metrics.Probe;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * The base class which contains a set of useful functions and short-cuts.
+ * <p>
+ * The main idea is to reduce the number of code lines in projects when using this
+ * class as the parent.
+ * </p>
+ * <p>
+ * The functions which need only the JDK are inherited from {@link CoreParent}. This class adds
+ * parsing, XML, resource reading, hashing and reflective instantiation.
+ * </p>
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 29, 2014
+ */
+public class BaseParent extends CoreParent {
+
+    /*
+     * The holders below keep commons-collections4, commons-io and commons-codec (and the probes)
+     * out of this class: they are loaded and initialized with the first call of a function which
+     * needs them, not with the first call of any short-cut (like list() or now()).
+     */
+
+    /**
+     * Reflective instantiation
+     */
+    private static final class Factories {
+
+        private static final Probe PARSE = Probe.of("base.parse");
+
+        private static <S> S inst(Class<? extends S> clazz, Class<?>[] paramTypes, Object... args) {
+            return FactoryUtils.instantiateFactory(clazz, paramTypes, args).create();
+        }
+
+        private static <S extends Number> S parse(String x, Class<S> clazz) {
+            S v = null;
+            long start = PARSE.start();
+            try {
+                v = inst(clazz, new Class<?>[]{String.class}, x);
+            } catch (FunctorException | IllegalArgumentException ignored) {
+                PARSE.error();
+            } finally {
+                PARSE.stop(start);
+            }
+            return v;
+        }
+    }
+
+    /**
+     * Reading of class path resources
+     */
+    private static final class Resources {
+
+        private static final Probe READ = Probe.of("base.readAsBytes");
+
+        private static byte[] read(String path) {
+            long start = READ.start();
+            try {
+                byte[] bytes = IOUtils.toByteArray(new ClassPathResource(path).getInputStream());
+                READ.record(bytes.length);
+                return bytes;
+            } catch (IOException ex) {
+                READ.error();
+                throw new ApplicationException(ex);
+            } finally {
+                READ.stop(start);
+            }
+        }
+    }
+
+    /**
+     * Hashing
+     */
+    private static final class Digests {
+
+        private static final Probe DIGEST = Probe.of("base.digest");
+
+        private static String digest(String s, String algorithm) {
+            long start = DIGEST.start();
+            try {
+                MessageDigest md = MessageDigest.getInstance(algorithm);
+                md.update(s.getBytes());
+                return Hex.encodeHexString(md.digest()).toLowerCase(Locale.getDefault());
+            } catch (NoSuchAlgorithmException ex) {
+                DIGEST.error();
+                throw new ApplicationException(ex);
+            } finally {
+                DIGEST.stop(start);
+            }
+        }
+    }
+
+    /**
+     * A null-safe initialization of object. If the original object is not
+     * null, then it is simply returned. But in case of a null value, a new
+     * one is created using the given class.
+     * <p>
+     * This approach allows to safely get an instance of the object
+     * even if it is null without doing special checking.
+     * </p>
+     *
+     * @param o     The original object (possibly, null)
+     * @param clazz The class of the object
+     * @param <S>   The object type
+     * @return The old object or a new created
+     */
+    public static <S> S nullSafe(S o, Class<S> clazz) {
+        return Optional.ofNullable(o).orElse(inst(clazz, new Class<?>[]{}));
+    }
+
+    /**
+     * Safe parsing of string to some {@link Number} value.
+     *
+     * @param x     The string value
+     * @param clazz The expected class of Number object
+     * @param <S>   The object type
+     * @return The resulted parsed value or null if parsing was unsuccessful
+     */
+    public static <S extends Number> S parse(String x, Class<S> clazz) {
+        return Factories.parse(x, clazz);
+    }
+
+    /**
+     * Instantiation of objects.
+     *
+     * @param clazz      The class to instantiate
+     * @param paramTypes The constructor arguments
+     * @param args       Any arguments that need to be provided
+     * @param <S>        The object type
+     * @return The resulted new object
+     */
+    public static <S> S inst(Class<? extends S> clazz, Class<?>[] paramTypes, Object... args) {
+        return Factories.inst(clazz, paramTypes, args);
+    }
+
+    /**
+     * Parses the given string as a local date-time according to the pattern. If nothing is parsed, the null option
+     * is returned.
+     *
+     * @param strValue The value to parse
+     * @param pattern  The pattern
+     * @return The resulted parsed value
+     */
+    public static Optional<LocalDateTime> parseLocal(String strValue, String pattern) {
+        return nullSafe(strValue, s -> ParseUtils.parseLocal(s, pattern));
+    }
+
+    /**
+     * Parses the given string as the date according to the pattern. If nothing is parsed, the null option
+     * is returned.
+     *
+     * @param strValue The value to parse
+     * @param pattern  The pattern (like 'yyyy-MM-dd' or 'dd.MM.yyyy'
+     * @return The resulted parsed value
+     */
+    public static Optional<LocalDate> parseLocalDate(String strValue, String pattern) {
+        return nullSafe(strValue, s -> ParseUtils.parseLocalDate(s, pattern));
+    }
+
+    /**
+     * Reads the file from the given class path
+     *
+     * @param path The path to the file's location
+     * @return The content as a string
+     */
+    public static String readAsString(String path) {
+        return utf8(readAsBytes(path));
+    }
+
+    /**
+     * Reads the file from the class path
+     *
+     * @param path The path to the file's location
+     * @return The content as a byte array
+     */
+    public static byte[] readAsBytes(String path) {
+        return Resources.read(path);
+    }
+
+    /**
+     * Hashes a string with the sha256 algorithm
+     *
+     * @param s The given string
+     * @return The hashed string
+     */
+    public static String sha256(String s) {
+        return digest(s, "SHA-256");
+    }
+
+    /**
+     * Generates the digest of the given string using the given algorithm
+     *
+     * @param s         The string
+     * @param algorithm The algorithm
+     * @return The resulted digest
+     */
+    public static String digest(String s, String algorithm) {
+        return Digests.digest(s, algorithm);
+    }
+
+    /**
+     * Parses the string enum value as a enum but with suppressing all exceptions
+     *
+     * @param clazz    The enum class
+     * @param strValue The string value to parse
+     * @param <S>      The enum type
+     * @return The parsed value as an enum object
+     */
+    public static <S extends Enum<S>> S parseEnum(Class<S> clazz, String strValue) {
+        return ParseUtils.parseEnum(clazz, strValue);
+    }
+
+    /**
+     * Parses a string via the provided regular expression and returns all found groups as a single string.
+     *
+     * @param text    The text to parse
+     * @param pattern The pattern to use
+     * @param groups  The number of groups in the regular expression to extract. If
+     *                more than one group is used, all the groups will be combined
+     *                as a single string
+     * @return The resulted value
+     */
+    public static String regexp(String text, String pattern, Integer... groups) {
+        return ParseUtils.regexp(text, pattern, groups);
+    }
+
+    /**
+     * Parses a string via the provided regular expression and returns the resulted
+     * groups.
+     *
+     * @param text    The original text
+     * @param pattern The pattern to use
+     * @param groups  The number of groups in the pattern
+     * @return The list of found groups
+     */
+    public static List<String> regexpGroups(String text, String pattern, Integer... groups) {
+        return ParseUtils.regexpGroups(text, pattern, groups);
+    }
+
+    /**
+     * Parses the provided xml by the specified xpath query
+     *
+     * @param xml   The XML to use specified as a string
+     * @param query The xpath query
+     * @return The result as a string
+     */
+    public static String xpath(String xml, String query) {
+        return ParseUtils.xpath(xml, query);
+    }
+
+    /**
+     * Removes all white spaces and generates the XML.
+     *
+     * @param rawXML The XML file.
+     * @return The resulted XML.
+     */
+    public static String cleanUpXML(String rawXML) {
+        return ParseUtils.cleanUpXML(rawXML);
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.core.env.Environment;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * The base class for Spring beans. It contains some internal spring hooks for
+ * manipulation with beans, the context and basic Spring infrastructure like profiles.
+ * <p>
+ * The context is set via the {@link ApplicationContextAware} callback for beans of the context and via
+ * the autowired {@link #setCtx(ApplicationContext)} for objects wired with
+ * {@link org.springframework.beans.factory.config.AutowireCapableBeanFactory#autowireBean(Object)}, which
+ * does not call the Aware callbacks. The environment is taken from the context with the first use.
+ * </p>
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 29, 2014
+ */
+public class BaseSpringParent extends BaseParent implements ApplicationContextAware {
+
+    /**
+     * The environment (resolved lazily from the context)
+     */
+    private volatile Environment env;
+
+    /**
+     * The context
+     */
+    protected ApplicationContext ctx;
+
+    /**
+     * The default name for production profile
+     */
+    public static final String PRODUCTION_PROFILE = "production";
+
+    /**
+     * The caches of the current context (profiles and singleton beans)
+     */
+    private volatile ContextCache cache;
+
+    /**
+     * The context of the cache
+     */
+    private volatile ApplicationContext cacheOwner;
+
+    /**
+     * Checks for the 'production' mode
+     *
+     * @return true, if 'production' profile found among the current Spring profiles.
+     */
+    protected boolean isProdMode() {
+        Set<String> profiles = getProfiles();
+        return profiles.contains(PRODUCTION_PROFILE);
+    }
+
+    /**
+     * Returns all profile names. The set is cached until the context is refreshed.
+     *
+     * @return The resulted unmodifiable set of current profile names
+     */
+    protected Set<String> getProfiles() {
+        return ctx == null ? set(getEnv().getActiveProfiles()) : contextCache().profiles(getEnv());
+    }
+
+    /**
+     * Returns the caches of the current context
+     *
+     * @return The cache
+     */
+    ContextCache contextCache() {
+        ApplicationContext c = ctx;
+        ContextCache cc = cache;
+        if (cc == null || cacheOwner != c) {
+            cc = ContextCache.of(c);
+            cache = cc;
+            cacheOwner = c;
+        }
+        return cc;
+    }
+
+    /**
+     * Returns a reference to a bean from the context. Singleton beans are cached until
+     * the context is refreshed.
+     *
+     * @param name  the name of bean
+     * @param clazz The bean's class
+     * @param <S>   The type of object
+     * @return the found bean instance
+     */
+    protected <S> S bean(String name, Class<S> clazz) {
+        Object b = contextCache().bean(ctx, name);
+        return clazz.isInstance(b) ? clazz.cast(b) : ctx.getBean(name, clazz);
+    }
+
+    /**
+     * Extracts the bean's target if it is an AOP proxy. Nested proxies are unwrapped to
+     * the innermost target. For proxies with static target sources, the target is cached.
+     *
+     * @param bean the original (maybe proxied) bean
+     * @param <S>  the expected bean object type
+     * @return The resulted target bean instance
+     */
+    @SuppressWarnings("unchecked")
+    protected static <S> S target(Object bean) {
+        try {
+            return (S) ProxyTargets.target(bean);
+        } catch (Exception ex) {
+            throw new ApplicationException(ex);
+        }
+    }
+
+    /**
+     * Getting bean from context (a short-cut)
+     *
+     * @param name Name of bean
+     * @param <S>  Type of bean
+     * @return Bean instance
+     */
+    @SuppressWarnings("unchecked")
+    protected <S> S bean(String name) {
+
+        return (S) contextCache().bean(ctx, name);
+    }
+
+    /**
+     * Returns a bean instance of the given class. The bean is cached until the context
+     * is refreshed if it is a singleton and the only bean of the class.
+     *
+     * @param clazz The class of a bean
+     * @param <S>   A type
+     * @return A bean instance
+     */
+    protected <S> S bean(Class<S> clazz) {
+
+        return contextCache().bean(ctx, clazz);
+    }
+
+    /**
+     * Creates a lazy reference to a bean of the given class, which is resolved with the first use
+     * and then again after the context is refreshed. It is useful for fields of beans which cannot
+     * be injected (for example, because of circular dependencies).
+     *
+     * @param clazz The class of a bean
+     * @param <S>   A type
+     * @return The reference
+     */
+    protected <S> BeanRef<S> beanRef(Class<S> clazz) {
+        return new BeanRef<>(this, null, clazz);
+    }
+
+    /**
+     * Creates a lazy reference to a bean with the given name (see {@link #beanRef(Class)}).
+     *
+     * @param name  The name of a bean
+     * @param clazz The class of a bean
+     * @param <S>   A type
+     * @return The reference
+     */
+    protected <S> BeanRef<S> beanRef(String name, Class<S> clazz) {
+        return new BeanRef<>(this, name, clazz);
+    }
+
+    /**
+     * Returns true if specified bean exists
+     *
+     * @param name Name of the bean
+     * @return true if bean exists
+     */
+    protected boolean hasBean(String name) {
+
+        return ctx.containsBean(name);
+    }
+
+    /**
+     * Returns the value of an environment property converted to the given type. Values are cached
+     * until the context is refreshed, so changes of property sources made without a refresh
+     * are not visible.
+     *
+     * @param name         The name of the property
+     * @param type         The type (besides types supported by the environment, {@link Duration}
+     *                     and {@link DataSize} values like '10s' or '10MB' are supported)
+     * @param defaultValue The value to return if there is no such property
+     * @param <S>          The type
+     * @return The value
+     */
+    protected <S> S property(String name, Class<S> type, S defaultValue) {
+        Environment e = getEnv();
+        S v = ctx == null ? PropertyBinder.resolve(e, name, type) : contextCache().property(e, name, type);
+        return v == null ? defaultValue : v;
+    }
+
+    /**
+     * @param name         The name of the property
+     * @param defaultValue The value to return if there is no such property
+     * @return The int value of the property (cached, see {@link #property(String, Class, Object)})
+     */
+    protected int intProperty(String name, int defaultValue) {
+        return property(name, Integer.class, defaultValue);
+    }
+
+    /**
+     * @param name         The name of the property
+     * @param defaultValue The value to return if there is no such property
+     * @return The long value of the property (cached, see {@link #property(String, Class, Object)})
+     */
+    protected long longProperty(String name, long defaultValue) {
+        return property(name, Long.class, defaultValue);
+    }
+
+    /**
+     * @param name         The name of the property
+     * @param defaultValue The value to return if there is no such property
+     * @return The boolean value of the property (cached, see {@link #property(String, Class, Object)})
+     */
+    protected boolean booleanProperty(String name, boolean defaultValue) {
+        return property(name, Boolean.class, defaultValue);
+    }
+
+    /**
+     * @param name         The name of the property
+     * @param defaultValue The value to return if there is no such property
+     * @return The duration value of the property like 'PT10S', '500ms', '10s', '5m', '1h' or '2d'
+     * (cached, see {@link #property(String, Class, Object)})
+     */
+    protected Duration durationProperty(String name, Duration defaultValue) {
+        return property(name, Duration.class, defaultValue);
+    }
+
+    /**
+     * @param name         The name of the property
+     * @param defaultValue The value to return if there is no such property
+     * @return The data size value of the property like '512KB' or '10MB'
+     * (cached, see {@link #property(String, Class, Object)})
+     */
+    protected DataSize sizeProperty(String name, DataSize defaultValue) {
+        return property(name, DataSize.class, defaultValue);
+    }
+
+    /**
+     * Creates an object with values of properties with the given prefix. For a record, its components
+     * are set from properties 'prefix.componentName' (or 'prefix.component-name'). For a POJO with
+     * a constructor without arguments, its setters are called. Values are converted like
+     * in {@link #property(String, Class, Object)} and cached.
+     *
+     * @param prefix The common prefix of the properties
+     * @param type   The class of a record or a POJO
+     * @param <S>    The type
+     * @return The new object
+     */
+    protected <S> S bind(String prefix, Class<S> type) {
+        return PropertyBinder.bind(prefix, type, (name, t) -> property(name, t, null));
+    }
+
+    // /////////////////////////////////////////////////////////////////////////
+    // /// getters/setters
+    // /////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return the env
+     */
+    public Environment getEnv() {
+
+        Environment e = env;
+        if (e == null && ctx != null) {
+            e = ctx.getEnvironment();
+            env = e;
+        }
+        return e;
+    }
+
+    /**
+     * If we need to override the context source
+     *
+     * @param context The spring context
+     */
+    @Autowired(required = false)
+    public void setCtx(ApplicationContext context) {
+        this.ctx = context;
+        this.env = null;
+    }
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) {
+        setCtx(applicationContext);
+    }
+}
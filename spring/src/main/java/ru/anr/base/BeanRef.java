@@ -0,0 +1,79 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base;
+
+import java.util.function.Supplier;
+
+/**
+ * A typed lazy reference to a bean of a Spring context. The bean is resolved with the first
+ * call of {@link #get()} and then returned without lookups in the context. The reference is
+ * resolved again after the context is refreshed.
+ *
+ * @param <S> The type of the bean
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+public final class BeanRef<S> implements Supplier<S> {
+
+    /**
+     * The resolved bean
+     */
+    private static final class Resolved<S> {
+
+        private final S bean;
+        private final ContextCache cache;
+        private final int generation;
+
+        Resolved(S bean, ContextCache cache, int generation) {
+            this.bean = bean;
+            this.cache = cache;
+            this.generation = generation;
+        }
+    }
+
+    private final BaseSpringParent owner;
+    private final String name;
+    private final Class<S> type;
+
+    private volatile Resolved<S> resolved;
+
+    BeanRef(BaseSpringParent owner, String name, Class<S> type) {
+        this.owner = owner;
+        this.name = name;
+        this.type = type;
+    }
+
+    /**
+     * @return The bean
+     */
+    @Override
+    public S get() {
+        ContextCache cache = owner.contextCache();
+        Resolved<S> r = resolved;
+        if (r == null || r.cache != cache || r.generation != cache.generation()) {
+            int g = cache.generation();
+            S bean = name == null ? owner.bean(type) : owner.bean(name, type);
+            r = new Resolved<>(bean, cache, g);
+            resolved = r;
+        }
+        return r.bean;
+    }
+
+    @Override
+    public String toString() {
+        return "BeanRef[" + (name == null ? type.getName() : name) + "]";
+    }
+}
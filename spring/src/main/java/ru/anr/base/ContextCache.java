@@ -0,0 +1,232 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ApplicationContextEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches of a Spring context shared by all {@link BaseSpringParent} beans of the context: the set
+ * of active profiles, resolved singleton beans and converted values of environment properties. The caches are cleared when the context is
+ * refreshed or closed. The cache is registered as a listener of its context, so it is held by the context only and
+ * is collected together with it. If the context does not allow to register listeners, nothing is cached.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+final class ContextCache implements ApplicationListener<ApplicationContextEvent> {
+
+    /**
+     * Guards the registration of caches in contexts
+     */
+    private static final Object LOCK = new Object();
+
+    /**
+     * Marks absent properties in the cache
+     */
+    private static final Object NONE = new Object();
+
+    private final WeakReference<ApplicationContext> context;
+
+    private final boolean enabled;
+
+    private final ConcurrentMap<String, Object> byName = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Class<?>, Object> byType = new ConcurrentHashMap<>();
+
+    /**
+     * Converted values of properties by types and names
+     */
+    private final ConcurrentMap<Class<?>, ConcurrentMap<String, Object>> properties = new ConcurrentHashMap<>();
+
+    private volatile Set<String> profiles;
+
+    /**
+     * Incremented each time the caches are cleared
+     */
+    private volatile int generation;
+
+    private ContextCache(ApplicationContext context, boolean enabled) {
+        this.context = new WeakReference<>(context);
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the cache of the context
+     *
+     * @param ctx The context
+     * @return The cache
+     */
+    static ContextCache of(ApplicationContext ctx) {
+        if (!(ctx instanceof AbstractApplicationContext)) {
+            return new ContextCache(ctx, false);
+        }
+        AbstractApplicationContext c = (AbstractApplicationContext) ctx;
+        synchronized (LOCK) {
+            ContextCache cache = find(c);
+            if (cache == null) {
+                cache = new ContextCache(c, true);
+                c.addApplicationListener(cache);
+            }
+            return cache;
+        }
+    }
+
+    /**
+     * Finds the cache among the listeners of the context
+     *
+     * @param ctx The context
+     * @return The cache or null if it has not been registered yet
+     */
+    private static ContextCache find(AbstractApplicationContext ctx) {
+        for (ApplicationListener<?> l : ctx.getApplicationListeners()) {
+            if (l instanceof ContextCache && ((ContextCache) l).context.get() == ctx) {
+                return (ContextCache) l;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationContextEvent event) {
+        // Events of child contexts are propagated to parents
+        if (event.getApplicationContext() == context.get()
+                && (event instanceof ContextRefreshedEvent || event instanceof ContextClosedEvent)) {
+            clear();
+        }
+    }
+
+    /**
+     * Clears all caches
+     */
+    void clear() {
+        byName.clear();
+        byType.clear();
+        properties.clear();
+        profiles = null;
+        generation++;
+    }
+
+    /**
+     * @return The number of times the caches have been cleared
+     */
+    int generation() {
+        return generation;
+    }
+
+    /**
+     * @param env The environment of the context
+     * @return The unmodifiable set of active profiles
+     */
+    Set<String> profiles(Environment env) {
+        Set<String> p = profiles;
+        if (p == null) {
+            p = Collections.unmodifiableSet(BaseParent.set(env.getActiveProfiles()));
+            if (enabled) {
+                profiles = p;
+            }
+        }
+        return p;
+    }
+
+    /**
+     * @param ctx  The context
+     * @param name The name of a bean
+     * @return The bean (cached if it is a singleton)
+     */
+    Object bean(ApplicationContext ctx, String name) {
+        Object b = byName.get(name);
+        if (b == null) {
+            int g = generation;
+            b = ctx.getBean(name);
+            if (enabled && ctx.isSingleton(name)) {
+                store(byName, name, b, g);
+            }
+        }
+        return b;
+    }
+
+    /**
+     * @param ctx   The context
+     * @param clazz The type of a bean
+     * @param <S>   The type
+     * @return The bean (cached if it is the only bean of the type and a singleton)
+     */
+    <S> S bean(ApplicationContext ctx, Class<S> clazz) {
+        Object b = byType.get(clazz);
+        if (b == null) {
+            int g = generation;
+            S resolved = ctx.getBean(clazz);
+            if (enabled) {
+                String[] names = ctx.getBeanNamesForType(clazz);
+                if (names.length == 1 && ctx.isSingleton(names[0])) {
+                    store(byType, clazz, resolved, g);
+                }
+            }
+            return resolved;
+        }
+        return clazz.cast(b);
+    }
+
+    /**
+     * Returns the converted value of a property (see {@link PropertyBinder#resolve(Environment, String, Class)})
+     *
+     * @param env  The environment of the context
+     * @param name The name of the property
+     * @param type The expected type
+     * @param <S>  The type
+     * @return The value or null if there is no such property
+     */
+    @SuppressWarnings("unchecked")
+    <S> S property(Environment env, String name, Class<S> type) {
+        if (!enabled) {
+            return PropertyBinder.resolve(env, name, type);
+        }
+        ConcurrentMap<String, Object> values = properties.get(type);
+        if (values == null) {
+            values = properties.computeIfAbsent(type, t -> new ConcurrentHashMap<>());
+        }
+        Object v = values.get(name);
+        if (v == null) {
+            int g = generation;
+            Object resolved = PropertyBinder.resolve(env, name, type);
+            v = resolved == null ? NONE : resolved;
+            store(values, name, v, g);
+        }
+        return v == NONE ? null : (S) v;
+    }
+
+    /**
+     * Stores a value unless the caches have been cleared while the value was resolved
+     */
+    private <K> void store(ConcurrentMap<K, Object> map, K key, Object value, int g) {
+        map.putIfAbsent(key, value);
+        if (generation != g) {
+            map.remove(key, value);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+/**
+ * @author Alexey Romanchuk
+ * @created Dec 05, 2021
+ */
+public class FormatUtils extends BaseParent {
+
+    /**
+     * Formats the given number with the use of the given pattern.
+     *
+     * @param value         The decimal value to format
+     * @param scale         The scale
+     * @param currency      true, the value means a currency or false if we deal with a commodity
+     * @param symbolAtStart true, if the symbol needs to be put before the value, or false if after the value
+     * @param symbol        The currency/commodity symbol
+     * @param locale        the locale
+     * @return The resulted formatted string with the value
+     */
+    public static String format(BigDecimal value, int scale, boolean currency, boolean symbolAtStart, String symbol, Locale locale) {
+        return AmountFormats.format(value, scale, currency, symbolAtStart, symbol, locale);
+    }
+
+    /**
+     * Formats the given number like {@link #format(BigDecimal, int, boolean, boolean, String, Locale)}
+     * but appends the result to the given {@link Appendable} (a {@link StringBuilder}, for example).
+     * The value is formatted exactly without the conversion to double.
+     *
+     * @param out           The output to append the result to
+     * @param value         The decimal value to format
+     * @param scale         The scale
+     * @param currency      true, the value means a currency or false if we deal with a commodity
+     * @param symbolAtStart true, if the symbol needs to be put before the value, or false if after the value
+     * @param symbol        The currency/commodity symbol
+     * @param locale        the locale
+     * @param <A>           The type of the output
+     * @return The given output
+     */
+    public static <A extends Appendable> A format(A out, BigDecimal value, int scale, boolean currency,
+                                                  boolean symbolAtStart, String symbol, Locale locale) {
+        return AmountFormats.format(out, value, scale, currency, symbolAtStart, symbol, locale);
+    }
+
+    /**
+     * Creates a formatter for whole columns of values with the same parameters as
+     * {@link #format(BigDecimal, int, boolean, boolean, String, Locale)} has. The formatter writes
+     * all values of a column into one buffer with delimiters.
+     *
+     * @param scale         The scale
+     * @param currency      true, the value means a currency or false if we deal with a commodity
+     * @param symbolAtStart true, if the symbol needs to be put before the value, or false if after the value
+     * @param symbol        The currency/commodity symbol
+     * @param locale        the locale
+     * @return The new column formatter (thread-safe)
+     */
+    public static ColumnFormat column(int scale, boolean currency, boolean symbolAtStart, String symbol, Locale locale) {
+        return AmountFormats.column(scale, currency, symbolAtStart, symbol, locale);
+    }
+}
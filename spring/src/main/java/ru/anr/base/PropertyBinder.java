@@ -0,0 +1,189 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.env.Environment;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.RecordComponent;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.function.BiFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Converts values of environment properties to typed values and binds groups of properties
+ * with a common prefix to records or POJOs.
+ * <p>
+ * In addition to the types supported by the conversion service of the environment, it converts
+ * {@link Duration}s (ISO-8601 like 'PT10S' or simple values like '500ms', '10s', '5m', '1h', '2d';
+ * a number without a unit means milliseconds) and {@link DataSize}s ('10MB', a number means bytes).
+ * </p>
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+final class PropertyBinder {
+
+    private static final Pattern SIMPLE_DURATION = Pattern.compile("^([+-]?\\d+)\\s*(ns|us|ms|s|m|h|d)?$",
+            Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Not used
+     */
+    private PropertyBinder() {
+    }
+
+    /**
+     * Reads and converts a property
+     *
+     * @param env  The environment
+     * @param name The name of the property
+     * @param type The expected type
+     * @param <S>  The type
+     * @return The value or null if there is no such property
+     */
+    @SuppressWarnings("unchecked")
+    static <S> S resolve(Environment env, String name, Class<S> type) {
+
+        Class<?> t = ClassUtils.resolvePrimitiveIfNecessary(type);
+        try {
+            if (t == Duration.class || t == DataSize.class) {
+                String raw = env.getProperty(name);
+                return raw == null ? null : (S) convert(raw.trim(), t);
+            }
+            return (S) env.getProperty(name, t);
+        } catch (IllegalArgumentException | ConversionException | DateTimeException ex) {
+            throw new ApplicationException("Invalid value of the property '" + name + "': " + ex.getMessage(), ex);
+        }
+    }
+
+    private static Object convert(String raw, Class<?> type) {
+        if (type == DataSize.class) {
+            return DataSize.parse(raw);
+        }
+        Matcher m = SIMPLE_DURATION.matcher(raw);
+        if (!m.matches()) {
+            return Duration.parse(raw);
+        }
+        long amount = Long.parseLong(m.group(1));
+        String unit = m.group(2) == null ? "ms" : m.group(2).toLowerCase();
+        switch (unit) {
+            case "ns":
+                return Duration.ofNanos(amount);
+            case "us":
+                return Duration.of(amount, ChronoUnit.MICROS);
+            case "s":
+                return Duration.ofSeconds(amount);
+            case "m":
+                return Duration.ofMinutes(amount);
+            case "h":
+                return Duration.ofHours(amount);
+            case "d":
+                return Duration.ofDays(amount);
+            default:
+                return Duration.ofMillis(amount);
+        }
+    }
+
+    /**
+     * Creates an object of the given type from properties with the prefix. A record is created with
+     * its canonical constructor, properties are taken by the names of the components. A POJO
+     * must have a constructor without arguments, properties are set via setters. The names of properties
+     * are 'prefix.name' or 'prefix.kebab-case-name'. Absent properties are left unset (nulls, zeros or
+     * values set in the POJO's constructor).
+     *
+     * @param prefix   The prefix
+     * @param type     The type
+     * @param resolver Reads a property (returns null if absent)
+     * @param <S>      The type
+     * @return The new object
+     */
+    static <S> S bind(String prefix, Class<S> type, BiFunction<String, Class<?>, Object> resolver) {
+        String p = prefix.isEmpty() || prefix.endsWith(".") ? prefix : prefix + ".";
+        return type.isRecord() ? bindRecord(p, type, resolver) : bindBean(p, type, resolver);
+    }
+
+    private static <S> S bindRecord(String prefix, Class<S> type, BiFunction<String, Class<?>, Object> resolver) {
+
+        RecordComponent[] components = type.getRecordComponents();
+        Class<?>[] types = new Class<?>[components.length];
+        Object[] args = new Object[components.length];
+
+        for (int i = 0; i < components.length; i++) {
+            types[i] = components[i].getType();
+            Object v = read(prefix, components[i].getName(), types[i], resolver);
+            if (v == null && types[i].isPrimitive()) {
+                v = Array.get(Array.newInstance(types[i], 1), 0); // The default value
+            }
+            args[i] = v;
+        }
+        try {
+            Constructor<S> c = type.getDeclaredConstructor(types);
+            return BeanUtils.instantiateClass(c, args);
+        } catch (NoSuchMethodException ex) {
+            throw new ApplicationException(ex);
+        }
+    }
+
+    private static <S> S bindBean(String prefix, Class<S> type, BiFunction<String, Class<?>, Object> resolver) {
+
+        S bean = BeanUtils.instantiateClass(type);
+        for (PropertyDescriptor pd : BeanUtils.getPropertyDescriptors(type)) {
+            if (pd.getWriteMethod() != null) {
+                Object v = read(prefix, pd.getName(), pd.getPropertyType(), resolver);
+                if (v != null) {
+                    ReflectionUtils.invokeMethod(pd.getWriteMethod(), bean, v);
+                }
+            }
+        }
+        return bean;
+    }
+
+    private static Object read(String prefix, String name, Class<?> type,
+                               BiFunction<String, Class<?>, Object> resolver) {
+        Object v = resolver.apply(prefix + name, type);
+        if (v == null) {
+            String kebab = kebab(name);
+            if (!kebab.equals(name)) {
+                v = resolver.apply(prefix + kebab, type);
+            }
+        }
+        return v;
+    }
+
+    private static String kebab(String name) {
+        StringBuilder sb = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isUpperCase(c)) {
+                sb.append('-').append(Character.toLowerCase(c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
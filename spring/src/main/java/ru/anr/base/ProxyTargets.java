@@ -0,0 +1,161 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package ru.anr.base;
+
+import org.springframework.aop.SpringProxy;
+import org.springframework.aop.TargetSource;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.support.AopUtils;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Unwraps (possibly nested) AOP proxies to their targets. If all proxies in the chain have
+ * static target sources, the target is cached by the identity of the outer proxy. Both proxies and
+ * targets are held weakly (the target can refer to its own proxy), so the cache does not prevent
+ * them from being collected. The target is strongly held by the proxy while the proxy is alive.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+final class ProxyTargets {
+
+    /**
+     * A key compared by the identity of the referent
+     */
+    private interface Key {
+
+        /**
+         * @return The referent or null, if it has been collected
+         */
+        Object referent();
+
+        /**
+         * @return true, if both keys refer to the same object
+         */
+        default boolean same(Object o) {
+            Object r = referent();
+            return o instanceof Key && r != null && ((Key) o).referent() == r;
+        }
+    }
+
+    /**
+     * A weak key of the cache
+     */
+    private static final class WeakKey extends WeakReference<Object> implements Key {
+
+        private final int hash;
+
+        WeakKey(Object referent, ReferenceQueue<Object> queue) {
+            super(referent, queue);
+            this.hash = System.identityHashCode(referent);
+        }
+
+        @Override
+        public Object referent() {
+            return get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || same(o);
+        }
+    }
+
+    /**
+     * A strong key used for lookups only, so no reference object is created for each lookup
+     */
+    private static final class LookupKey implements Key {
+
+        private final Object referent;
+
+        LookupKey(Object referent) {
+            this.referent = referent;
+        }
+
+        @Override
+        public Object referent() {
+            return referent;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(referent);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || same(o);
+        }
+    }
+
+    private static final ConcurrentMap<Key, WeakReference<Object>> TARGETS = new ConcurrentHashMap<>();
+
+    private static final ReferenceQueue<Object> COLLECTED = new ReferenceQueue<>();
+
+    /**
+     * Not used
+     */
+    private ProxyTargets() {
+    }
+
+    /**
+     * Returns the final target of the bean
+     *
+     * @param bean The bean
+     * @return The target or the bean itself, if it is not a proxy
+     * @throws Exception If a target source failed
+     */
+    static Object target(Object bean) throws Exception {
+
+        if (!(bean instanceof SpringProxy)) {
+            return bean;
+        }
+        WeakReference<Object> cached = TARGETS.get(new LookupKey(bean));
+        Object target = cached == null ? null : cached.get();
+        if (target != null) {
+            return target;
+        }
+
+        Object current = bean;
+        boolean cacheable = true;
+        while (current instanceof Advised && AopUtils.isAopProxy(current)) {
+            TargetSource source = ((Advised) current).getTargetSource();
+            cacheable &= source.isStatic();
+            current = source.getTarget();
+        }
+        if (cacheable && current != null && current != bean) {
+            purge();
+            TARGETS.put(new WeakKey(bean, COLLECTED), new WeakReference<>(current));
+        }
+        return current;
+    }
+
+    private static void purge() {
+        Object ref;
+        while ((ref = COLLECTED.poll()) != null) {
+            TARGETS.remove(ref);
+        }
+    }
+}
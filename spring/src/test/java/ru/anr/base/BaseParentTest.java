@@ -0,0 +1,112 @@
+package ru.anr.base;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * BaseParent tests (the helpers of the core module are tested by CoreParentTest)
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 29, 2014
+ */
+
+class BaseParentTest extends BaseParent {
+
+    /**
+     * An object with a default constructor
+     */
+    public static class Sample {
+
+        private String value;
+
+        private int index;
+    }
+
+    /**
+     * Parsing
+     */
+    @Test
+    void parsing() {
+
+        Integer v = parse("64", Integer.class);
+        Assertions.assertNotNull(v);
+        Assertions.assertEquals(64, v.intValue());
+
+        v = parse("64f", Integer.class);
+        Assertions.assertNull(v);
+
+        BigDecimal x = parse("64", BigDecimal.class);
+        Assertions.assertNotNull(x);
+        Assertions.assertEquals(new BigDecimal("64"), x);
+
+        x = parse("64/f", BigDecimal.class);
+        Assertions.assertNull(x);
+
+        Long id = parse(null, Long.class);
+        Assertions.assertNull(id);
+    }
+
+    /**
+     * Tests for local date (without timezone) parser
+     */
+    @Test
+    void parseDate() {
+        // Date and time
+        Assertions.assertEquals(LocalDateTime.of(2020, 5, 14, 0, 0),
+                parseLocal("2020-05-14", "yyyy-MM-dd").orElse(null));
+        Assertions.assertEquals(LocalDateTime.of(2020, 5, 14, 5, 12),
+                parseLocal("2020-05-14 05:12", "yyyy-MM-dd HH:mm").orElse(null));
+
+        // Date
+        Assertions.assertEquals(LocalDate.of(2020, 5, 14),
+                parseLocalDate("2020-05-14", "yyyy-MM-dd").orElse(null));
+        Assertions.assertEquals(LocalDate.of(2020, 5, 14),
+                parseLocalDate("14.05.2020", "dd.MM.yyyy").orElse(null));
+        Assertions.assertEquals(LocalDate.of(2020, 5, 14),
+                parseLocalDate("14.05.20", "dd.MM.yy").orElse(null));
+    }
+
+    /**
+     * Test method for {@link BaseParent#sha256(java.lang.String)}
+     */
+    @Test
+    void testSha256() {
+
+        String s1 = "string1";
+        String s2 = "string2";
+        Assertions.assertEquals(sha256(s1), sha256(s1));
+        Assertions.assertNotEquals(sha256(s1), sha256(s2));
+
+    }
+
+    @Test
+    public void nullSafeByClass() {
+
+        Sample o = new Sample();
+        Assertions.assertSame(o, nullSafe(o, Sample.class));
+
+        Sample ox = nullSafe(null, Sample.class);
+        Assertions.assertEquals(0, ox.index);
+        Assertions.assertNull(ox.value);
+    }
+
+    @Test
+    public void testReadAsString() {
+        Assertions.assertEquals("# Standard properties\n" +
+                "spring.profiles.active=production\n" +
+                "value=${DGC_VALUE}\n", readAsString("./application.properties"));
+    }
+
+    @Test
+    public void xml() {
+
+        String xml = "<root>  <a x='${x}'  />\n" + "     <a y='${y}' /> </root>";
+
+        String xml1 = fillString(xml, "x", "123", "y", "321");
+        Assertions.assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?><root><a x=\"123\"/><a y=\"321\"/></root>", cleanUpXML(xml1));
+    }
+}
@@ -0,0 +1,52 @@
+package ru.anr.base;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+public class FormatUtilsTest extends BaseParent {
+
+    @Test
+    public void format() {
+        Assertions.assertEquals("$100.00",
+                FormatUtils.format(d("100"), 2, true, true, "$",
+                        Locale.ENGLISH));
+        Assertions.assertEquals("$1,000.00",
+                FormatUtils.format(d("1000"), 2, true, true, "$",
+                        Locale.ENGLISH));
+
+        Assertions.assertEquals("$1 000,00",
+                FormatUtils.format(d("1000"), 2, true, true, "$",
+                        new Locale("ru")));
+
+        // How currency = false works
+        Assertions.assertEquals("100g",
+                FormatUtils.format(d("100"), 5, false, false, "g",
+                        Locale.ENGLISH));
+    }
+
+    @Test
+    public void formatExact() {
+        // No precision is lost for large amounts
+        Assertions.assertEquals("12,345,678,901,234,567.89 USD",
+                FormatUtils.format(d("12345678901234567.89"), 2, true, false, " USD",
+                        Locale.ENGLISH));
+        Assertions.assertEquals("0.12345g",
+                FormatUtils.format(d("0.12345"), 5, false, false, "g", Locale.ENGLISH));
+        Assertions.assertEquals("0.1g",
+                FormatUtils.format(d("0.10000"), 5, false, false, "g", Locale.ENGLISH));
+        Assertions.assertEquals("1,000.00",
+                FormatUtils.format(d("1000"), 2, true, true, null, Locale.ENGLISH));
+    }
+
+    @Test
+    public void formatToAppendable() {
+        StringBuilder sb = new StringBuilder("Total: ");
+        FormatUtils.format(sb, d("1000"), 2, true, true, "$", Locale.ENGLISH).append("; ");
+        FormatUtils.format(sb, new BigDecimal("5.5"), 2, true, false, "€", Locale.GERMAN);
+
+        Assertions.assertEquals("Total: $1,000.00; 5,50€", sb.toString());
+    }
+}
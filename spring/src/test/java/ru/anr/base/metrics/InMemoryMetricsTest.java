@@ -0,0 +1,102 @@
+package ru.anr.base.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import ru.anr.base.ApplicationException;
+import ru.anr.base.BaseParent;
+
+/**
+ * Tests for the instrumentation of helpers.
+ *
+ * @author Alexey Romanchuk
+ * @created Oct 18, 2026
+ */
+@ResourceLock("ru.anr.base.metrics.Instrumentation") // Installs global metrics (see ThreadMetrics)
+public class InMemoryMetricsTest extends BaseParent {
+
+    @AfterEach
+    public void tearDown() {
+        Instrumentation.setMetrics(Metrics.NOOP);
+    }
+
+    @Test
+    public void testDisabled() {
+
+        Assertions.assertFalse(Instrumentation.isEnabled());
+        Probe p = Probe.of("test");
+        Assertions.assertEquals(Probe.DISABLED, p.start());
+        p.stop(Probe.DISABLED);
+        p.record(1);
+        p.error();
+    }
+
+    @Test
+    public void testHelpers() {
+
+        InMemoryMetrics metrics = new ThreadMetrics();
+        Instrumentation.setMetrics(metrics);
+
+        Assertions.assertEquals("1", xpath("<a><b>1</b></a>", "/a/b"));
+        Assertions.assertEquals("12", regexp("x12y", "x(\\d+)y", 1));
+        Assertions.assertNotNull(sha256("x"));
+        Assertions.assertEquals(12, parse("12", Integer.class).intValue());
+        Assertions.assertNull(parse("x", Integer.class));
+        byte[] bytes = readAsBytes("application.properties");
+        Assertions.assertThrows(ApplicationException.class, () -> readAsBytes("no-such-file"));
+
+        MetricsSnapshot s = metrics.snapshot();
+        Assertions.assertEquals(1, s.timer("base.xpath").getCount());
+        Assertions.assertEquals(1, s.timer("base.regexp").getCount());
+        Assertions.assertEquals(1, s.timer("base.digest").getCount());
+        Assertions.assertEquals(2, s.timer("base.parse").getCount());
+        Assertions.assertEquals(1, s.counter("base.parse.errors"));
+        Assertions.assertEquals(2, s.timer("base.readAsBytes").getCount());
+        Assertions.assertEquals(1, s.counter("base.readAsBytes.errors"));
+        Assertions.assertEquals(bytes.length, s.histogram("base.readAsBytes.size").getMax());
+        Assertions.assertTrue(s.timer("base.xpath").getTotal() > 0);
+
+        metrics.reset();
+        Assertions.assertEquals(0, metrics.snapshot().timer("base.xpath").getCount());
+        xpath("<a/>", "/a");
+        Assertions.assertEquals(1, metrics.snapshot().timer("base.xpath").getCount());
+    }
+
+    @Test
+    public void testReinstall() {
+
+        InMemoryMetrics first = new ThreadMetrics();
+        Instrumentation.setMetrics(first);
+        sha256("x");
+
+        InMemoryMetrics second = new ThreadMetrics();
+        Instrumentation.setMetrics(second);
+        sha256("x");
+        sha256("y");
+
+        Assertions.assertEquals(1, first.snapshot().timer("base.digest").getCount());
+        Assertions.assertEquals(2, second.snapshot().timer("base.digest").getCount());
+    }
+
+    @Test
+    public void testSummary() {
+
+        InMemoryMetrics metrics = new InMemoryMetrics();
+        Metrics.Histogram h = metrics.histogram("h");
+        h.record(5);
+        h.record(1);
+        h.record(9);
+        metrics.counter("c").increment();
+        metrics.counter("c").increment(2);
+
+        MetricsSnapshot s = metrics.snapshot();
+        HistogramSnapshot summary = s.histogram("h");
+        Assertions.assertEquals(3, summary.getCount());
+        Assertions.assertEquals(1, summary.getMin());
+        Assertions.assertEquals(9, summary.getMax());
+        Assertions.assertEquals(5.0, summary.getMean(), 1e-9);
+        Assertions.assertEquals(3, s.counter("c"));
+        Assertions.assertEquals(0, s.counter("none"));
+    }
+}
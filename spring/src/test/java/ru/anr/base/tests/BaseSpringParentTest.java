@@ -0,0 +1,389 @@
+package ru.anr.base.tests;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.target.HotSwappableTargetSource;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.util.unit.DataSize;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import ru.anr.base.ApplicationException;
+import ru.anr.base.BaseSpringParent;
+import ru.anr.base.BeanRef;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tests for {@link BaseSpringParent}.
+ *
+ * @author Alexey Romanchuk
+ * @created Nov 3, 2014
+ */
+@ActiveProfiles({"xxx", "tests"})
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = BaseSpringParentTest.class)
+class BaseSpringParentTest extends BaseSpringParent {
+
+    /**
+     * Define a test bean
+     *
+     * @return Bean instance
+     */
+    @Bean(name = "bean")
+    String factory() {
+        return "Factory";
+    }
+
+    /**
+     * Test method for bean(...).
+     */
+    @Test
+    void testBean() {
+
+        String x = bean("bean", String.class);
+        Assertions.assertEquals("Factory", x);
+
+        x = bean("bean");
+        Assertions.assertEquals("Factory", x);
+
+        x = bean(String.class);
+        Assertions.assertEquals("Factory", x);
+        Assertions.assertTrue(hasBean("bean"));
+    }
+
+    /**
+     * Define a prototype bean
+     *
+     * @return Bean instance
+     */
+    @Bean(name = "builder")
+    @Scope("prototype")
+    StringBuilder builder() {
+        return new StringBuilder();
+    }
+
+    @Test
+    void testBeanCache() {
+
+        Assertions.assertSame(bean("bean"), bean("bean"));
+        Assertions.assertSame(bean(String.class), bean("bean", String.class));
+
+        // Prototypes are not cached
+        Assertions.assertNotSame(bean("builder"), bean("builder"));
+        Assertions.assertNotSame(bean(StringBuilder.class), bean(StringBuilder.class));
+        Assertions.assertNotSame(bean("builder", StringBuilder.class), bean("builder", StringBuilder.class));
+    }
+
+    @Test
+    void testBeanRefAndRefresh() {
+
+        GenericApplicationContext c = new GenericApplicationContext();
+        c.registerBean("bean", StringBuilder.class, () -> new StringBuilder("first"));
+        c.refresh();
+        try {
+            Holder holder = new Holder();
+            holder.setCtx(c);
+
+            BeanRef<StringBuilder> ref = holder.ref;
+            StringBuilder first = ref.get();
+            Assertions.assertEquals("first", first.toString());
+            Assertions.assertSame(first, ref.get());
+            Assertions.assertSame(first, holder.lookup());
+
+            // Simulates re-creation of singletons on a refresh
+            c.removeBeanDefinition("bean");
+            c.registerBean("bean", StringBuilder.class, () -> new StringBuilder("second"));
+            Assertions.assertSame(first, holder.lookup());
+
+            c.publishEvent(new ContextRefreshedEvent(c));
+            Assertions.assertEquals("second", holder.lookup().toString());
+            Assertions.assertEquals("second", ref.get().toString());
+        } finally {
+            c.close();
+        }
+    }
+
+    @Test
+    void testContextCallback() {
+
+        // No annotation processors: the context is set via the aware callback
+        GenericApplicationContext c = new GenericApplicationContext();
+        c.registerBean("bean", StringBuilder.class, () -> new StringBuilder("x"));
+        c.registerBean("holder", Holder.class);
+        c.refresh();
+        try {
+            Holder h = c.getBean(Holder.class);
+            Assertions.assertEquals("x", h.lookup().toString());
+            Assertions.assertSame(c.getEnvironment(), h.getEnv());
+        } finally {
+            c.close();
+        }
+    }
+
+    @Test
+    void testAbandonedContextCollected() throws InterruptedException {
+
+        WeakReference<GenericApplicationContext> ref = abandonedContext();
+        for (int i = 0; i < 50 && ref.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        Assertions.assertNull(ref.get());
+    }
+
+    /**
+     * Creates a context which is not closed and whose cache holds a bean referring to the context
+     */
+    private static WeakReference<GenericApplicationContext> abandonedContext() {
+
+        GenericApplicationContext c = new GenericApplicationContext();
+        c.registerBean("holder", Holder.class);
+        c.refresh();
+
+        Holder h = c.getBean(Holder.class);
+        Assertions.assertSame(h, h.self());
+        return new WeakReference<>(c);
+    }
+
+    @Test
+    void testTypedProperties() {
+
+        GenericApplicationContext c = new GenericApplicationContext();
+        MutablePropertySources sources = c.getEnvironment().getPropertySources();
+        sources.addFirst(new MapPropertySource("test", toMap("x.int", "42", "x.long", "${x.int}0", "x.flag", "true",
+                "x.timeout", "1500ms", "x.iso", "PT2M", "x.plain", "250", "x.size", "10MB", "x.bad", "abc")));
+        c.refresh();
+        try {
+            Holder h = new Holder();
+            h.setCtx(c);
+
+            Assertions.assertEquals(42, h.intProperty("x.int", 0));
+            Assertions.assertEquals(420L, h.longProperty("x.long", 0L));
+            Assertions.assertTrue(h.booleanProperty("x.flag", false));
+            Assertions.assertEquals(Duration.ofMillis(1500), h.durationProperty("x.timeout", null));
+            Assertions.assertEquals(Duration.ofMinutes(2), h.durationProperty("x.iso", null));
+            Assertions.assertEquals(Duration.ofMillis(250), h.durationProperty("x.plain", null));
+            Assertions.assertEquals(DataSize.ofMegabytes(10), h.sizeProperty("x.size", null));
+            Assertions.assertEquals(7, h.intProperty("x.absent", 7));
+            Assertions.assertThrows(ApplicationException.class, () -> h.intProperty("x.bad", 0));
+
+            // Cached until a refresh
+            sources.addFirst(new MapPropertySource("override", toMap("x.int", "43")));
+            Assertions.assertEquals(42, h.intProperty("x.int", 0));
+            c.publishEvent(new ContextRefreshedEvent(c));
+            Assertions.assertEquals(43, h.intProperty("x.int", 0));
+            Assertions.assertEquals("43", h.getEnv().getProperty("x.int"));
+        } finally {
+            c.close();
+        }
+    }
+
+    /**
+     * Bound settings as a record
+     */
+    record Limits(int maxSize, Duration timeout, boolean enabled, String name) {
+    }
+
+    /**
+     * Bound settings as a POJO
+     */
+    public static class Settings {
+
+        private int maxSize = 5;
+        private Duration timeout;
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    @Test
+    void testBind() {
+
+        GenericApplicationContext c = new GenericApplicationContext();
+        c.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test",
+                toMap("limits.max-size", "100", "limits.timeout", "5s", "limits.enabled", "true",
+                        "settings.timeout", "1m")));
+        c.refresh();
+        try {
+            Holder h = new Holder();
+            h.setCtx(c);
+
+            Limits limits = h.bind("limits", Limits.class);
+            Assertions.assertEquals(100, limits.maxSize());
+            Assertions.assertEquals(Duration.ofSeconds(5), limits.timeout());
+            Assertions.assertTrue(limits.enabled());
+            Assertions.assertNull(limits.name());
+
+            Settings settings = h.bind("settings.", Settings.class);
+            Assertions.assertEquals(5, settings.getMaxSize()); // Not set
+            Assertions.assertEquals(Duration.ofMinutes(1), settings.getTimeout());
+        } finally {
+            c.close();
+        }
+    }
+
+    /**
+     * A bean with a lazy reference
+     */
+    static class Holder extends BaseSpringParent {
+
+        private final BeanRef<StringBuilder> ref = beanRef(StringBuilder.class);
+
+        StringBuilder lookup() {
+            return bean("bean", StringBuilder.class);
+        }
+
+        Holder self() {
+            return bean("holder", Holder.class);
+        }
+
+        @Override
+        protected int intProperty(String name, int defaultValue) {
+            return super.intProperty(name, defaultValue);
+        }
+
+        @Override
+        protected long longProperty(String name, long defaultValue) {
+            return super.longProperty(name, defaultValue);
+        }
+
+        @Override
+        protected boolean booleanProperty(String name, boolean defaultValue) {
+            return super.booleanProperty(name, defaultValue);
+        }
+
+        @Override
+        protected Duration durationProperty(String name, Duration defaultValue) {
+            return super.durationProperty(name, defaultValue);
+        }
+
+        @Override
+        protected DataSize sizeProperty(String name, DataSize defaultValue) {
+            return super.sizeProperty(name, defaultValue);
+        }
+
+        @Override
+        protected <S> S bind(String prefix, Class<S> type) {
+            return super.bind(prefix, type);
+        }
+    }
+
+    @Test
+    void testBeanTarget() {
+
+        String x = target(bean("bean", String.class));
+        Assertions.assertEquals("Factory", x);
+    }
+
+
+    @Test
+    void testNestedProxyTarget() {
+
+        List<String> raw = new ArrayList<>();
+        List<String> inner = proxy(raw);
+        List<String> outer = proxy(inner);
+
+        Assertions.assertNotSame(raw, inner);
+        Assertions.assertSame(raw, target(inner));
+        Assertions.assertSame(raw, target(outer));
+        Assertions.assertSame(raw, target(outer)); // Cached
+        Assertions.assertSame(raw, target(raw));
+        Assertions.assertNull(target(null));
+
+        // Dynamic target sources are resolved each time
+        HotSwappableTargetSource source = new HotSwappableTargetSource(raw);
+        ProxyFactory pf = new ProxyFactory();
+        pf.setTargetSource(source);
+        pf.addInterface(List.class);
+        @SuppressWarnings("unchecked")
+        List<String> swappable = (List<String>) pf.getProxy();
+        List<String> wrapped = proxy(swappable);
+
+        Assertions.assertSame(raw, target(wrapped));
+        List<String> other = new ArrayList<>();
+        source.swap(other);
+        Assertions.assertSame(other, target(wrapped));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> proxy(List<String> target) {
+        ProxyFactory pf = new ProxyFactory();
+        pf.setTarget(target);
+        pf.addInterface(List.class);
+        return (List<String>) pf.getProxy();
+    }
+
+    /**
+     * Testing for profiles
+     */
+    @Test
+    void testProfiles() {
+
+        Set<String> profs = getProfiles();
+        Assertions.assertEquals(2, profs.size());
+        Assertions.assertTrue(profs.contains("xxx"));
+        Assertions.assertTrue(profs.contains("tests"));
+
+        Environment e = getEnv();
+        Assertions.assertNotNull(e);
+
+        Assertions.assertEquals(set(e.getActiveProfiles()), profs);
+        Assertions.assertSame(profs, getProfiles());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> profs.add("x"));
+    }
+
+    /**
+     * An object created outside the context
+     */
+    static class Unmanaged extends BaseSpringParent {
+
+        String lookup() {
+            return bean("bean", String.class);
+        }
+    }
+
+    /**
+     * autowireBean() does not call the Aware callbacks, so the context is injected via the setter
+     */
+    @Test
+    void testAutowireBean() {
+
+        AutowireCapableBeanFactory factory = ctx.getAutowireCapableBeanFactory();
+
+        Unmanaged o = new Unmanaged();
+        factory.autowireBean(o);
+        Assertions.assertEquals("Factory", o.lookup());
+        Assertions.assertSame(getEnv(), o.getEnv());
+
+        o = new Unmanaged();
+        factory.autowireBeanProperties(o, AutowireCapableBeanFactory.AUTOWIRE_NO, false);
+        Assertions.assertEquals("Factory", o.lookup());
+    }
+}
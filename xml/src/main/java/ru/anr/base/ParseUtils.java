@@ -17,13 +17,16 @@ package ru.anr.base;
 
 import com.jamesmurty.utils.XMLBuilder;
 import org.xml.sax.SAXException;
+import ru.anr.base.metrics.Probe;
 
 import javax.xml.namespace.NamespaceContext;
 import javax.xml.namespace.QName;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.TransformerException;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -31,6 +34,7 @@ import java.time.format.DateTimeParseException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Properties;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -44,6 +48,47 @@ import java.util.regex.Pattern;
 
 public final class ParseUtils {
 
+    /**
+     * Probes of the hot helpers (see {@link ru.anr.base.metrics.Instrumentation})
+     */
+    private static final Probe REGEXP = Probe.of("base.regexp");
+
+    /**
+     * The XML processing. The holder keeps java-xmlbuilder and the XML parsers out of this class,
+     * they are loaded with the first XML call, not with the first regular expression.
+     */
+    private static final class Xml {
+
+        private static final Probe XPATH = Probe.of("base.xpath");
+
+        @SuppressWarnings("unchecked")
+        private static <S> S xpath(String xml, String query, QName resultType, NamespaceContext namespaces) {
+            long start = XPATH.start();
+            try {
+                XMLBuilder b = XMLBuilder.parse(xml);
+                return (S) b.xpathQuery(query, resultType, namespaces);
+
+            } catch (SAXException | IOException | XPathExpressionException | ParserConfigurationException ex) {
+                XPATH.error();
+                throw new ApplicationException(ex);
+            } finally {
+                XPATH.stop(start);
+            }
+        }
+
+        private static String cleanUpXML(String rawXML) {
+            try {
+                XMLBuilder xmlResult = XMLBuilder.parse(rawXML);
+                StringWriter result = new StringWriter();
+                xmlResult.stripWhitespaceOnlyTextNodes().toWriter(result, new Properties());
+                return result.getBuffer().toString();
+            } catch (ParserConfigurationException | IOException | SAXException | TransformerException
+                     | XPathExpressionException ex) {
+                throw new ApplicationException(ex);
+            }
+        }
+    }
+
     /**
      * Parse utilities
      */
@@ -88,15 +133,18 @@ public final class ParseUtils {
      * @param <S> The result type
      *
      */
-    @SuppressWarnings("unchecked")
     public static <S> S xpath(String xml, String query, QName resultType, NamespaceContext namespaces) {
-        try {
-            XMLBuilder b = XMLBuilder.parse(xml);
-            return (S) b.xpathQuery(query, resultType, namespaces);
+        return Xml.xpath(xml, query, resultType, namespaces);
+    }
 
-        } catch (SAXException | IOException | XPathExpressionException | ParserConfigurationException ex) {
-            throw new ApplicationException(ex);
-        }
+    /**
+     * Removes all white spaces and generates the XML.
+     *
+     * @param rawXML The XML file.
+     * @return The resulted XML.
+     */
+    public static String cleanUpXML(String rawXML) {
+        return Xml.cleanUpXML(rawXML);
     }
 
     /**
@@ -152,8 +200,13 @@ public final class ParseUtils {
      * @return A list of groups
      */
     public static List<String> regexpGroups(String text, String pattern, Integer... groups) {
-        Pattern p = Pattern.compile(pattern, Pattern.CASE_INSENSITIVE | Pattern.DOTALL | Pattern.MULTILINE);
-        return regexpGroups(text, p, groups);
+        long start = REGEXP.start();
+        try {
+            Pattern p = Pattern.compile(pattern, Pattern.CASE_INSENSITIVE | Pattern.DOTALL | Pattern.MULTILINE);
+            return match(text, p, groups);
+        } finally {
+            REGEXP.stop(start);
+        }
     }
 
     /**
@@ -166,9 +219,18 @@ public final class ParseUtils {
      * @return The list of extracted groups
      */
     public static List<String> regexpGroups(String text, Pattern regexp, Integer... groups) {
+        long start = REGEXP.start();
+        try {
+            return match(text, regexp, groups);
+        } finally {
+            REGEXP.stop(start);
+        }
+    }
+
+    private static List<String> match(String text, Pattern regexp, Integer... groups) {
         Matcher m = regexp.matcher(text);
         // There can be conditional groups like (..)? which give null values
-        return m.find() ? BaseParent.list(BaseParent.list(groups).stream().map(m::group).filter(Objects::nonNull)) : null;
+        return m.find() ? CoreParent.list(CoreParent.list(groups).stream().map(m::group).filter(Objects::nonNull)) : null;
     }
 
     /**
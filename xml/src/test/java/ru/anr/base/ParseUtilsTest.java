@@ -16,7 +16,7 @@ import java.time.LocalDateTime;
  * @created Apr 19, 2016
  */
 
-public class ParseUtilsTest extends BaseParent {
+public class ParseUtilsTest extends CoreParent {
 
     /**
      * Tests for XML xpath queries
@@ -33,11 +33,11 @@ public class ParseUtilsTest extends BaseParent {
                 "</a>";
 
         // 1. Select as strings
-        Assertions.assertEquals("123", xpath(xml, "//@b"));
-        Assertions.assertEquals("1", xpath(xml, "//c[1]"));
-        Assertions.assertEquals("2", xpath(xml, "//c[2]"));
-        Assertions.assertEquals("12", xpath(xml, "/a/b"));
-        Assertions.assertEquals("", xpath(xml, "//d"));
+        Assertions.assertEquals("123", ParseUtils.xpath(xml, "//@b"));
+        Assertions.assertEquals("1", ParseUtils.xpath(xml, "//c[1]"));
+        Assertions.assertEquals("2", ParseUtils.xpath(xml, "//c[2]"));
+        Assertions.assertEquals("12", ParseUtils.xpath(xml, "/a/b"));
+        Assertions.assertEquals("", ParseUtils.xpath(xml, "//d"));
 
         // 2. Select as nodes
         NodeList nodes = ParseUtils.xpath(xml, "/a/b/c", XPathConstants.NODESET);
@@ -53,12 +53,12 @@ public class ParseUtilsTest extends BaseParent {
                 "</x:a>";
 
         // 1. Select as strings
-        Assertions.assertEquals("123", xpath(xml, "//@b"));
-        Assertions.assertEquals("1", xpath(xml, "//c[1]"));
-        Assertions.assertEquals("2", xpath(xml, "//c[2]"));
+        Assertions.assertEquals("123", ParseUtils.xpath(xml, "//@b"));
+        Assertions.assertEquals("1", ParseUtils.xpath(xml, "//c[1]"));
+        Assertions.assertEquals("2", ParseUtils.xpath(xml, "//c[2]"));
         Assertions.assertEquals("12", ParseUtils.xpath(xml, "/x:a/b",
                 XPathConstants.STRING, ParseUtils.namespaceResolver("x", "NAMESPACE")));
-        Assertions.assertEquals("", xpath(xml, "//d"));
+        Assertions.assertEquals("", ParseUtils.xpath(xml, "//d"));
 
         // 2. Select as nodes
         nodes = ParseUtils.xpath(xml, "/x:a/b/c",
@@ -75,15 +75,15 @@ public class ParseUtilsTest extends BaseParent {
 
         String s = "<a b=\"123\"><b><c>1</c><c>2</c></b></a>";
 
-        Assertions.assertEquals("123", regexp(s, "b=\"(\\d+)\"", 1));
-        Assertions.assertEquals("1", regexp(s, "<c>(\\d+)</c><c>", 1));
-        Assertions.assertEquals("2", regexp(s, "</c><c>(\\d+)</c>", 1));
-        Assertions.assertEquals("12", regexp(s, "<c>(\\d+)</c><c>(\\d+)</c>", 1, 2));
+        Assertions.assertEquals("123", ParseUtils.regexp(s, "b=\"(\\d+)\"", 1));
+        Assertions.assertEquals("1", ParseUtils.regexp(s, "<c>(\\d+)</c><c>", 1));
+        Assertions.assertEquals("2", ParseUtils.regexp(s, "</c><c>(\\d+)</c>", 1));
+        Assertions.assertEquals("12", ParseUtils.regexp(s, "<c>(\\d+)</c><c>(\\d+)</c>", 1, 2));
 
-        Assertions.assertNull(regexp(s, "xxx", 1));
+        Assertions.assertNull(ParseUtils.regexp(s, "xxx", 1));
 
-        Assertions.assertEquals(list("1", "2"), regexpGroups(s, "<c>(\\d+)</c><c>(\\d+)</c>", 1, 2));
-        Assertions.assertEquals(list("1"), regexpGroups(s, "<c>(\\d+)</c>(<c>\\d[34]</c>)?", 1, 2));
+        Assertions.assertEquals(list("1", "2"), ParseUtils.regexpGroups(s, "<c>(\\d+)</c><c>(\\d+)</c>", 1, 2));
+        Assertions.assertEquals(list("1"), ParseUtils.regexpGroups(s, "<c>(\\d+)</c>(<c>\\d[34]</c>)?", 1, 2));
     }
 
     private enum XXXEnum {
@@ -96,10 +96,10 @@ public class ParseUtilsTest extends BaseParent {
     @Test
     public void parseEnum() {
 
-        Assertions.assertEquals(XXXEnum.X, parseEnum(XXXEnum.class, "X"));
-        Assertions.assertEquals(XXXEnum.Y, parseEnum(XXXEnum.class, "Y"));
-        Assertions.assertNull(parseEnum(XXXEnum.class, null));
-        Assertions.assertNull(parseEnum(XXXEnum.class, "Z"));
+        Assertions.assertEquals(XXXEnum.X, ParseUtils.parseEnum(XXXEnum.class, "X"));
+        Assertions.assertEquals(XXXEnum.Y, ParseUtils.parseEnum(XXXEnum.class, "Y"));
+        Assertions.assertNull(ParseUtils.parseEnum(XXXEnum.class, null));
+        Assertions.assertNull(ParseUtils.parseEnum(XXXEnum.class, "Z"));
     }
 
     /**
@@ -109,17 +109,17 @@ public class ParseUtilsTest extends BaseParent {
     public void parseDate() {
         // Date and time
         Assertions.assertEquals(LocalDateTime.of(2020, 5, 14, 0, 0),
-                parseLocal("2020-05-14", "yyyy-MM-dd").orElse(null));
+                ParseUtils.parseLocal("2020-05-14", "yyyy-MM-dd"));
         Assertions.assertEquals(LocalDateTime.of(2020, 5, 14, 5, 12),
-                parseLocal("2020-05-14 05:12", "yyyy-MM-dd HH:mm").orElse(null));
+                ParseUtils.parseLocal("2020-05-14 05:12", "yyyy-MM-dd HH:mm"));
 
         // Date
         Assertions.assertEquals(LocalDate.of(2020, 5, 14),
-                parseLocalDate("2020-05-14", "yyyy-MM-dd").orElse(null));
+                ParseUtils.parseLocalDate("2020-05-14", "yyyy-MM-dd"));
         Assertions.assertEquals(LocalDate.of(2020, 5, 14),
-                parseLocalDate("14.05.2020", "dd.MM.yyyy").orElse(null));
+                ParseUtils.parseLocalDate("14.05.2020", "dd.MM.yyyy"));
         Assertions.assertEquals(LocalDate.of(2020, 5, 14),
-                parseLocalDate("14.05.20", "dd.MM.yy").orElse(null));
+                ParseUtils.parseLocalDate("14.05.20", "dd.MM.yy"));
     }
 
     @Test()